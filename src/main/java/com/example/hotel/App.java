@@ -1,6 +1,10 @@
 package com.example.hotel;
 
+import com.example.hotel.gui.controllers.ViewLifecycle;
+import com.example.hotel.persistence.Settings;
+import com.example.hotel.service.ServiceRegistry;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -8,6 +12,10 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Main JavaFX Application class for the Hotel Booking System.
@@ -18,6 +26,18 @@ public class App extends Application {
     private static final String CSS_PATH = "/styles/application.css";
     private static final String FXML_BASE_PATH = "/com/example/hotel/gui/fxml/";
 
+    // Views loaded in the background after startup unless -Dhotel.preloadViews=false
+    private static final List<String> PRELOADED_VIEWS =
+            List.of("Dashboard", "BookingList", "RoomManagement", "GuestManagement");
+    private static final boolean PRELOAD_VIEWS =
+            Boolean.parseBoolean(System.getProperty("hotel.preloadViews", "true"));
+    // Print navigation latency with -Dhotel.logNavigation=true
+    private static final boolean LOG_NAVIGATION = Boolean.getBoolean("hotel.logNavigation");
+
+    // Views whose controllers implement ViewLifecycle, kept after the first load
+    private static final Map<String, CachedView> VIEW_CACHE = new HashMap<>();
+    private static int navigationCount;
+
     @Override
     public void start(Stage stage) {
         primaryStage = stage;
@@ -25,8 +45,20 @@ public class App extends Application {
         primaryStage.setMinWidth(800);
         primaryStage.setMinHeight(600);
 
+        // Pick up edits to data/settings.json while the app is running
+        Settings.getInstance().startWatching();
+
         showPortalSelection();
         primaryStage.show();
+
+        if (PRELOAD_VIEWS) {
+            preloadViews(PRELOADED_VIEWS.iterator());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Settings.getInstance().stopWatching();
     }
 
     /**
@@ -36,6 +68,10 @@ public class App extends Application {
      * @return The loaded Parent node
      */
     public static Parent loadView(String viewName) {
+        return load(viewName).getRoot();
+    }
+
+    private static FXMLLoader load(String viewName) {
         try {
             String fxmlPath = FXML_BASE_PATH + viewName + ".fxml";
             URL fxmlUrl = App.class.getResource(fxmlPath);
@@ -45,6 +81,7 @@ public class App extends Application {
             }
 
             FXMLLoader loader = new FXMLLoader(fxmlUrl);
+            loader.setControllerFactory(App::createController);
             Parent root = loader.load();
 
             // Apply CSS
@@ -53,7 +90,7 @@ public class App extends Application {
                 root.getStylesheets().add(cssUrl.toExternalForm());
             }
 
-            return root;
+            return loader;
         } catch (IOException e) {
             System.err.println("Error loading view: " + viewName);
             e.printStackTrace();
@@ -62,27 +99,114 @@ public class App extends Application {
     }
 
     /**
-     * Sets the scene with the given root node.
+     * Creates controllers for FXMLLoader, passing the shared services to
+     * controllers that take a {@link ServiceRegistry}.
+     */
+    private static Object createController(Class<?> type) {
+        try {
+            try {
+                return type.getConstructor(ServiceRegistry.class).newInstance(ServiceRegistry.getInstance());
+            } catch (NoSuchMethodException e) {
+                return type.getConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create controller " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Shows a view, reusing the cached one if its controller implements
+     * {@link ViewLifecycle}; a reused view is told to refresh its data.
+     */
+    private static void showView(String viewName) {
+        long start = System.nanoTime();
+        int navigation = ++navigationCount;
+        CachedView view = VIEW_CACHE.get(viewName);
+        boolean cached = view != null;
+        if (cached) {
+            ((ViewLifecycle) view.controller).onShow();
+        } else {
+            view = loadAndCache(viewName);
+        }
+        if (navigation != navigationCount) {
+            // The controller navigated elsewhere while loading (e.g. nothing to show)
+            return;
+        }
+        setScene(view.root);
+        logNavigation(viewName, cached, start);
+    }
+
+    private static CachedView loadAndCache(String viewName) {
+        FXMLLoader loader = load(viewName);
+        CachedView view = new CachedView(loader.getRoot(), loader.getController());
+        if (view.controller instanceof ViewLifecycle) {
+            VIEW_CACHE.put(viewName, view);
+        }
+        return view;
+    }
+
+    /**
+     * Loads the views staff are likely to open next, one per FX event so the
+     * screen stays responsive in between.
+     */
+    private static void preloadViews(Iterator<String> viewNames) {
+        if (!viewNames.hasNext()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            String viewName = viewNames.next();
+            if (!VIEW_CACHE.containsKey(viewName)) {
+                try {
+                    loadAndCache(viewName);
+                } catch (RuntimeException e) {
+                    System.err.println("Could not preload view: " + viewName);
+                }
+            }
+            preloadViews(viewNames);
+        });
+    }
+
+    /**
+     * Prints the time from a navigation request until the new view has been laid out.
+     */
+    private static void logNavigation(String viewName, boolean cached, long start) {
+        if (!LOG_NAVIGATION) {
+            return;
+        }
+        Scene scene = primaryStage.getScene();
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            System.out.printf("Navigation to %s: %.1f ms (%s)%n", viewName,
+                    (System.nanoTime() - start) / 1_000_000.0, cached ? "cached" : "loaded");
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Shows the given root node, reusing the stage's scene.
      */
     private static void setScene(Parent root) {
-        Scene scene = new Scene(root, 1024, 768);
-        primaryStage.setScene(scene);
+        Scene scene = primaryStage.getScene();
+        if (scene == null) {
+            primaryStage.setScene(new Scene(root, 1024, 768));
+        } else {
+            scene.setRoot(root);
+        }
     }
 
     /**
      * Shows the Portal Selection view (app entry point).
      */
     public static void showPortalSelection() {
-        Parent root = loadView("PortalSelection");
-        setScene(root);
+        showView("PortalSelection");
     }
 
     /**
      * Shows the Dashboard view (Staff Portal).
      */
     public static void showDashboard() {
-        Parent root = loadView("Dashboard");
-        setScene(root);
+        showView("Dashboard");
     }
 
     /**
@@ -90,8 +214,7 @@ public class App extends Application {
      */
     public static void showRoomManagement() {
         try {
-            Parent root = loadView("RoomManagement");
-            setScene(root);
+            showView("RoomManagement");
         } catch (RuntimeException e) {
             System.err.println("Room Management view not yet implemented");
         }
@@ -102,20 +225,29 @@ public class App extends Application {
      */
     public static void showGuestManagement() {
         try {
-            Parent root = loadView("GuestManagement");
-            setScene(root);
+            showView("GuestManagement");
         } catch (RuntimeException e) {
             System.err.println("Guest Management view not yet implemented");
         }
     }
 
+    /**
+     * Shows the Duplicate Guests review view.
+     */
+    public static void showDuplicateGuests() {
+        try {
+            showView("DuplicateGuests");
+        } catch (RuntimeException e) {
+            System.err.println("Duplicate Guests view not yet implemented");
+        }
+    }
+
     /**
      * Shows the Booking view.
      */
     public static void showBooking() {
         try {
-            Parent root = loadView("Booking");
-            setScene(root);
+            showView("Booking");
         } catch (RuntimeException e) {
             System.err.println("Booking view not yet implemented");
         }
@@ -126,21 +258,30 @@ public class App extends Application {
      */
     public static void showBookingList() {
         try {
-            Parent root = loadView("BookingList");
-            setScene(root);
+            showView("BookingList");
         } catch (RuntimeException e) {
             System.err.println("Booking List view not yet implemented");
         }
     }
 
+    /**
+     * Shows the Occupancy Timeline view.
+     */
+    public static void showOccupancyTimeline() {
+        try {
+            showView("OccupancyTimeline");
+        } catch (RuntimeException e) {
+            System.err.println("Occupancy Timeline view not yet implemented");
+        }
+    }
+
     /**
      * Shows the Invoice view.
      * The booking is passed via BookingListController.getSelectedBookingForInvoice().
      */
     public static void showInvoice() {
         try {
-            Parent root = loadView("Invoice");
-            setScene(root);
+            showView("Invoice");
         } catch (RuntimeException e) {
             System.err.println("Invoice view not yet implemented");
         }
@@ -151,8 +292,7 @@ public class App extends Application {
      */
     public static void showGuestPortalHome() {
         try {
-            Parent root = loadView("GuestPortalHome");
-            setScene(root);
+            showView("GuestPortalHome");
         } catch (RuntimeException e) {
             System.err.println("Guest Portal Home view not yet implemented");
         }
@@ -163,8 +303,7 @@ public class App extends Application {
      */
     public static void showGuestRoomBrowser() {
         try {
-            Parent root = loadView("GuestRoomBrowser");
-            setScene(root);
+            showView("GuestRoomBrowser");
         } catch (RuntimeException e) {
             System.err.println("Guest Room Browser view not yet implemented");
         }
@@ -175,8 +314,7 @@ public class App extends Application {
      */
     public static void showGuestBookingForm() {
         try {
-            Parent root = loadView("GuestBookingForm");
-            setScene(root);
+            showView("GuestBookingForm");
         } catch (RuntimeException e) {
             System.err.println("Guest Booking Form view not yet implemented");
         }
@@ -187,8 +325,7 @@ public class App extends Application {
      */
     public static void showGuestBookingConfirmation() {
         try {
-            Parent root = loadView("GuestBookingConfirmation");
-            setScene(root);
+            showView("GuestBookingConfirmation");
         } catch (RuntimeException e) {
             System.err.println("Guest Booking Confirmation view not yet implemented");
         }
@@ -204,4 +341,17 @@ public class App extends Application {
     public static void main(String[] args) {
         launch(args);
     }
+
+    /**
+     * A loaded view and its controller.
+     */
+    private static final class CachedView {
+        final Parent root;
+        final Object controller;
+
+        CachedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
 }
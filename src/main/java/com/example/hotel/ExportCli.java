@@ -0,0 +1,119 @@
+package com.example.hotel;
+
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.export.ExportFilter;
+import com.example.hotel.service.export.ExportFormat;
+import com.example.hotel.service.export.ExportService;
+import com.example.hotel.util.DateUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+/**
+ * Command-line entry point for exporting data without starting the GUI.
+ *
+ * Usage:
+ * <pre>
+ *   ExportCli &lt;bookings|invoices|details&gt; &lt;output file&gt;
+ *             [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--status CONFIRMED|CANCELLED|COMPLETED]
+ * </pre>
+ * The format is chosen from the file extension: .jsonl for JSON Lines, anything else for CSV.
+ */
+public final class ExportCli {
+
+    private ExportCli() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            System.exit(1);
+        }
+
+        String dataset = args[0].toLowerCase();
+        Path output = Paths.get(args[1]);
+
+        try {
+            ExportFilter filter = parseFilter(args);
+            ExportFormat format = ExportFormat.fromFileName(output.getFileName().toString());
+            ExportService exportService = ServiceRegistry.getInstance().getExportService();
+            long start = System.nanoTime();
+            long rows;
+            try (Writer writer = ExportService.openWriter(output)) {
+                switch (dataset) {
+                    case "bookings":
+                        rows = exportService.exportBookings(filter, format, writer);
+                        break;
+                    case "invoices":
+                        rows = exportService.exportInvoices(filter, format, writer);
+                        break;
+                    case "details":
+                        rows = exportService.exportBookingDetails(filter, format, writer);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown dataset " + dataset);
+                }
+            }
+            System.out.printf("Exported %d %s row(s) as %s to %s in %d ms%n",
+                rows, dataset, format, output, (System.nanoTime() - start) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Build the filter from the options after the dataset and output file.
+     * Without options the filter is unrestricted.
+     * @throws IllegalArgumentException if an option or its value is invalid
+     */
+    static ExportFilter parseFilter(String[] args) {
+        ExportFilter filter = ExportFilter.all();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (int i = 2; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--from":
+                    from = parseDate(value);
+                    break;
+                case "--to":
+                    to = parseDate(value);
+                    break;
+                case "--status":
+                    filter = filter.withStatus(BookingStatus.valueOf(value.toUpperCase()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (from != null || to != null) {
+            filter = filter.withCheckInBetween(from, to);
+        }
+        return filter;
+    }
+
+    private static LocalDate parseDate(String value) {
+        LocalDate date = DateUtil.parseDate(value);
+        if (date == null) {
+            throw new IllegalArgumentException("Invalid date " + value + " (expected yyyy-MM-dd)");
+        }
+        return date;
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: ExportCli <bookings|invoices|details> <output.csv|output.jsonl>"
+            + " [--from yyyy-MM-dd] [--to yyyy-MM-dd] [--status CONFIRMED|CANCELLED|COMPLETED]");
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.hotel.gui.controllers;
 
 import com.example.hotel.App;
-import com.example.hotel.model.Booking;
 import com.example.hotel.model.Guest;
 import com.example.hotel.model.Room;
 import com.example.hotel.persistence.Settings;
 import com.example.hotel.service.BookingService;
-import com.example.hotel.service.GuestService;
 import com.example.hotel.service.RoomService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.search.GuestPrefixIndex;
 import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.DebouncedSearch;
+import com.example.hotel.util.MoneyUtil;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -24,8 +27,17 @@ import java.util.List;
  */
 public class BookingController {
 
+    private static final String GUEST_SEARCH_TASK = "booking.guestSearch";
+    private static final String SAVE_TASK = "booking.save";
+
+    /** Number of guests offered for the text typed so far. */
+    private static final int GUEST_MATCHES = 20;
+
+    @FXML
+    private TextField guestSearchField;
+
     @FXML
-    private ComboBox<Guest> guestCombo;
+    private ListView<Guest> guestResults;
 
     @FXML
     private ComboBox<Room> roomCombo;
@@ -69,47 +81,58 @@ public class BookingController {
     @FXML
     private Button confirmBtn;
 
-    private final GuestService guestService;
+    private final GuestPrefixIndex guestIndex;
     private final RoomService roomService;
     private final BookingService bookingService;
     private final Settings settings;
 
     private boolean costCalculated = false;
+    private DebouncedSearch<Guest> guestSearch;
 
     public BookingController() {
-        this.guestService = new GuestService();
-        this.roomService = new RoomService();
-        this.bookingService = new BookingService();
-        this.settings = Settings.getInstance();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public BookingController(ServiceRegistry services) {
+        this.guestIndex = services.getGuestPrefixIndex();
+        this.roomService = services.getRoomService();
+        this.bookingService = services.getBookingService();
+        this.settings = services.getSettings();
     }
 
     @FXML
     public void initialize() {
-        setupGuestCombo();
+        setupGuestPicker();
         setupRoomCombo();
         setupDatePickers();
         setupRefundPolicyLabel();
         updateVatLabel();
     }
 
-    private void setupGuestCombo() {
-        guestCombo.setConverter(new StringConverter<Guest>() {
+    /**
+     * Offer the best matching guests as the clerk types, most recently active first.
+     * Only the matches are ever loaded into the list.
+     */
+    private void setupGuestPicker() {
+        guestResults.setCellFactory(list -> new ListCell<>() {
             @Override
-            public String toString(Guest guest) {
-                if (guest == null) return null;
-                return guest.getName() + " (" + guest.getEmail() + ")";
-            }
-
-            @Override
-            public Guest fromString(String string) {
-                return null;
+            protected void updateItem(Guest guest, boolean empty) {
+                super.updateItem(guest, empty);
+                setText(empty || guest == null ? null : guest.getName() + " (" + guest.getEmail() + ")");
             }
         });
-
-        List<Guest> guests = guestService.getAllGuests();
-        guestCombo.setItems(FXCollections.observableArrayList(guests));
-
-        guestCombo.valueProperty().addListener((obs, oldVal, newVal) -> {
+        guestResults.setPlaceholder(new Label("No matching guests"));
+
+        guestSearch = new DebouncedSearch<>(GUEST_SEARCH_TASK,
+            term -> guestIndex.search(term, GUEST_MATCHES),
+            null,
+            guestResults::getItems,
+            (term, guests) -> guestResults.getItems().setAll(guests),
+            e -> updateStatus("Guest search error: " + e.getMessage()));
+        guestSearch.bind(guestSearchField);
+        guestSearch.searchNow("");
+
+        guestResults.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
             resetCostCalculation();
         });
     }
@@ -119,10 +142,8 @@ public class BookingController {
             @Override
             public String toString(Room room) {
                 if (room == null) return null;
-                return String.format("Room %s - %s ($%.2f/night)",
-                        room.getRoomNumber(),
-                        room.getType().name(),
-                        room.getPricePerNight());
+                return "Room " + room.getRoomNumber() + " - " + room.getType().name()
+                        + " (" + MoneyUtil.formatCurrency(room.getPricePerNight()) + "/night)";
             }
 
             @Override
@@ -138,8 +159,7 @@ public class BookingController {
             if (newVal != null) {
                 roomInfoLabel.setText("Room " + newVal.getRoomNumber());
                 roomTypeLabel.setText(newVal.getType().name());
-                pricePerNightLabel.setText(String.format("%s %.2f",
-                        settings.getCurrency(), newVal.getPricePerNight()));
+                pricePerNightLabel.setText(MoneyUtil.formatCurrency(newVal.getPricePerNight()));
             }
         });
     }
@@ -209,7 +229,8 @@ public class BookingController {
     }
 
     private void updateVatLabel() {
-        double vatPercent = settings.getVatRate() * 100;
+        LocalDate checkIn = checkInPicker.getValue();
+        double vatPercent = settings.getVatRate(checkIn != null ? checkIn : LocalDate.now()) * 100;
         vatRateLabel.setText(String.format("VAT (%.0f%%):", vatPercent));
     }
 
@@ -225,7 +246,7 @@ public class BookingController {
     @FXML
     private void handleCalculate() {
         // Validate selections
-        Guest selectedGuest = guestCombo.getValue();
+        Guest selectedGuest = guestResults.getSelectionModel().getSelectedItem();
         Room selectedRoom = roomCombo.getValue();
         LocalDate checkIn = checkInPicker.getValue();
         LocalDate checkOut = checkOutPicker.getValue();
@@ -267,10 +288,12 @@ public class BookingController {
         double vat = total - subtotal;
 
         // Update display
+        updateVatLabel();
         nightsLabel.setText(String.valueOf(nights));
-        subtotalLabel.setText(String.format("%s %.2f", settings.getCurrency(), subtotal));
-        vatLabel.setText(String.format("%s %.2f", settings.getCurrency(), vat));
-        totalLabel.setText(String.format("%s %.2f", settings.getCurrency(), total));
+        String currency = settings.getCurrency();
+        subtotalLabel.setText(MoneyUtil.formatCurrency(subtotal, currency));
+        vatLabel.setText(MoneyUtil.formatCurrency(vat, currency));
+        totalLabel.setText(MoneyUtil.formatCurrency(total, currency));
 
         costCalculated = true;
         confirmBtn.setDisable(false);
@@ -284,7 +307,7 @@ public class BookingController {
             return;
         }
 
-        Guest selectedGuest = guestCombo.getValue();
+        Guest selectedGuest = guestResults.getSelectionModel().getSelectedItem();
         Room selectedRoom = roomCombo.getValue();
         LocalDate checkIn = checkInPicker.getValue();
         LocalDate checkOut = checkOutPicker.getValue();
@@ -302,25 +325,29 @@ public class BookingController {
         boolean confirmed = AlertUtil.showConfirmation("Confirm Booking", message);
 
         if (confirmed) {
-            try {
-                Booking booking = bookingService.createBooking(
-                        selectedGuest.getId(),
-                        selectedRoom.getRoomNumber(),
-                        checkIn,
-                        checkOut
-                );
-
-                AlertUtil.showSuccess("Booking created successfully!\n\nBooking ID: " + booking.getBookingId());
-                updateStatus("Booking created: " + booking.getBookingId());
-
-                // Reset form and reload available rooms
-                resetForm();
-                loadAvailableRooms();
-
-            } catch (IllegalArgumentException e) {
-                AlertUtil.showError("Booking Error", e.getMessage());
-                updateStatus("Error: " + e.getMessage());
-            }
+            // Disabled until the booking is saved, so it cannot be confirmed twice
+            confirmBtn.setDisable(true);
+            updateStatus("Saving booking...");
+            BackgroundTasks.submit(SAVE_TASK,
+                    () -> bookingService.createBooking(
+                            selectedGuest.getId(),
+                            selectedRoom.getRoomNumber(),
+                            checkIn,
+                            checkOut
+                    ),
+                    booking -> {
+                        AlertUtil.showSuccess("Booking created successfully!\n\nBooking ID: " + booking.getBookingId());
+                        updateStatus("Booking created: " + booking.getBookingId());
+
+                        // Reset form and reload available rooms
+                        resetForm();
+                        loadAvailableRooms();
+                    },
+                    e -> {
+                        confirmBtn.setDisable(!costCalculated);
+                        AlertUtil.showError("Booking Error", e.getMessage());
+                        updateStatus("Error: " + e.getMessage());
+                    });
         }
     }
 
@@ -336,7 +363,8 @@ public class BookingController {
     }
 
     private void resetForm() {
-        guestCombo.setValue(null);
+        guestResults.getSelectionModel().clearSelection();
+        guestSearchField.clear();
         roomCombo.setValue(null);
         checkInPicker.setValue(LocalDate.now());
         checkOutPicker.setValue(LocalDate.now().plusDays(1));
@@ -2,58 +2,83 @@ package com.example.hotel.gui.controllers;
 
 import com.example.hotel.App;
 import com.example.hotel.model.Booking;
-import com.example.hotel.model.Guest;
 import com.example.hotel.model.enums.BookingStatus;
-import com.example.hotel.persistence.Settings;
+import com.example.hotel.persistence.RepositoryEvent;
 import com.example.hotel.service.BookingService;
-import com.example.hotel.service.GuestService;
-import com.example.hotel.service.InvoiceService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.projection.BookingPage;
+import com.example.hotel.service.projection.BookingRow;
+import com.example.hotel.service.projection.BookingRowProjection;
+import com.example.hotel.service.projection.BookingSort;
+import com.example.hotel.service.export.ExportFilter;
+import com.example.hotel.service.export.ExportFormat;
+import com.example.hotel.service.export.ExportService;
 import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.CurrencyConversion;
+import com.example.hotel.util.FxRepositorySync;
+import com.example.hotel.util.MoneyUtil;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
+import javafx.stage.FileChooser;
 
+import java.io.File;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Booking List view.
  * Handles viewing, filtering, cancelling, and completing bookings.
  */
-public class BookingListController {
+public class BookingListController implements ViewLifecycle {
+
+    private static final String EXPORT_TASK = "bookingList.export";
+    private static final String SAVE_TASK = "bookingList.save";
+
+    @FXML
+    private TableView<BookingRow> bookingTable;
 
     @FXML
-    private TableView<Booking> bookingTable;
+    private TableColumn<BookingRow, String> colBookingId;
 
     @FXML
-    private TableColumn<Booking, String> colBookingId;
+    private TableColumn<BookingRow, String> colGuestName;
 
     @FXML
-    private TableColumn<Booking, String> colGuestName;
+    private TableColumn<BookingRow, String> colRoom;
 
     @FXML
-    private TableColumn<Booking, String> colRoom;
+    private TableColumn<BookingRow, String> colRoomType;
 
     @FXML
-    private TableColumn<Booking, String> colCheckIn;
+    private TableColumn<BookingRow, String> colCheckIn;
 
     @FXML
-    private TableColumn<Booking, String> colCheckOut;
+    private TableColumn<BookingRow, String> colCheckOut;
 
     @FXML
-    private TableColumn<Booking, String> colTotal;
+    private TableColumn<BookingRow, String> colTotal;
 
     @FXML
-    private TableColumn<Booking, String> colStatus;
+    private TableColumn<BookingRow, String> colStatus;
 
     @FXML
-    private TableColumn<Booking, String> colRefund;
+    private TableColumn<BookingRow, String> colRefund;
 
     @FXML
     private ComboBox<String> statusFilter;
 
+    @FXML
+    private ComboBox<String> currencyCombo;
+
     @FXML
     private Button viewInvoiceBtn;
 
@@ -69,21 +94,45 @@ public class BookingListController {
     @FXML
     private Label bookingCountLabel;
 
-    private final BookingService bookingService;
-    private final GuestService guestService;
-    private final InvoiceService invoiceService;
-    private final Settings settings;
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    @FXML
+    private Button previousPageBtn;
+
+    @FXML
+    private Button nextPageBtn;
+
+    @FXML
+    private Label pageLabel;
 
-    private final ObservableList<Booking> bookingList;
+    private final ServiceRegistry services;
+    private final BookingService bookingService;
+    private final BookingRowProjection bookingRows;
+    private final PagedBookingSource bookingPages;
+    private final Map<TableColumn<BookingRow, ?>, BookingSort> sortKeys = new HashMap<>();
+
+    private final ObservableList<BookingRow> bookingList;
+    private int pageIndex;
+    // Totals and refunds of the shown rows in the display currency, by booking ID;
+    // empty when the rows are shown in the hotel currency
+    private final Map<String, String> displayTotals = new HashMap<>();
+    private final Map<String, String> displayRefunds = new HashMap<>();
+    // A cancel or complete is running; both stay disabled until it is done
+    private boolean saving;
 
     // Static field for passing booking to Invoice view
     private static Booking selectedBookingForInvoice;
 
     public BookingListController() {
-        this.bookingService = new BookingService();
-        this.guestService = new GuestService();
-        this.invoiceService = new InvoiceService();
-        this.settings = Settings.getInstance();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public BookingListController(ServiceRegistry services) {
+        this.services = services;
+        this.bookingService = services.getBookingService();
+        this.bookingRows = services.getBookingRowProjection();
+        this.bookingPages = new PagedBookingSource(bookingRows);
         this.bookingList = FXCollections.observableArrayList();
     }
 
@@ -94,6 +143,13 @@ public class BookingListController {
         return selectedBookingForInvoice;
     }
 
+    /**
+     * Set the booking to show in the invoice view, e.g. when opened from another screen.
+     */
+    static void setSelectedBookingForInvoice(Booking booking) {
+        selectedBookingForInvoice = booking;
+    }
+
     /**
      * Clear the selected booking for invoice.
      */
@@ -104,8 +160,11 @@ public class BookingListController {
     @FXML
     public void initialize() {
         setupTableColumns();
+        setupSorting();
         setupStatusFilter();
+        setupCurrencyCombo();
         setupTableSelection();
+        setupLiveUpdates();
         loadBookings();
     }
 
@@ -113,32 +172,30 @@ public class BookingListController {
         colBookingId.setCellValueFactory(data ->
                 new SimpleStringProperty(data.getValue().getBookingId()));
 
-        colGuestName.setCellValueFactory(data -> {
-            String guestId = data.getValue().getGuestId();
-            return guestService.findById(guestId)
-                    .map(Guest::getName)
-                    .map(SimpleStringProperty::new)
-                    .orElse(new SimpleStringProperty("Unknown"));
-        });
+        colGuestName.setCellValueFactory(data ->
+                new SimpleStringProperty(data.getValue().getGuestName()));
 
         colRoom.setCellValueFactory(data ->
                 new SimpleStringProperty(data.getValue().getRoomNumber()));
 
+        colRoomType.setCellValueFactory(data ->
+                new SimpleStringProperty(data.getValue().getRoomType()));
+
         colCheckIn.setCellValueFactory(data ->
-                new SimpleStringProperty(data.getValue().getCheckInDate().toString()));
+                new SimpleStringProperty(data.getValue().getCheckIn()));
 
         colCheckOut.setCellValueFactory(data ->
-                new SimpleStringProperty(data.getValue().getCheckOutDate().toString()));
+                new SimpleStringProperty(data.getValue().getCheckOut()));
 
         colTotal.setCellValueFactory(data ->
-                new SimpleStringProperty(String.format("%s %.2f",
-                        settings.getCurrency(), data.getValue().getTotalCost())));
+                new SimpleStringProperty(displayTotals.getOrDefault(
+                        data.getValue().getBookingId(), data.getValue().getTotal())));
 
         // Status column with color coding
         colStatus.setCellValueFactory(data ->
                 new SimpleStringProperty(data.getValue().getStatus().name()));
 
-        colStatus.setCellFactory(column -> new TableCell<Booking, String>() {
+        colStatus.setCellFactory(column -> new TableCell<BookingRow, String>() {
             @Override
             protected void updateItem(String status, boolean empty) {
                 super.updateItem(status, empty);
@@ -164,14 +221,9 @@ public class BookingListController {
             }
         });
 
-        colRefund.setCellValueFactory(data -> {
-            double refund = data.getValue().getRefundAmount();
-            if (refund > 0) {
-                return new SimpleStringProperty(String.format("%s %.2f",
-                        settings.getCurrency(), refund));
-            }
-            return new SimpleStringProperty("-");
-        });
+        colRefund.setCellValueFactory(data ->
+                new SimpleStringProperty(displayRefunds.getOrDefault(
+                        data.getValue().getBookingId(), data.getValue().getRefund())));
 
         bookingTable.setItems(bookingList);
     }
@@ -186,6 +238,93 @@ public class BookingListController {
         });
     }
 
+    /**
+     * Offer the currencies amounts can be shown in, starting with the hotel currency.
+     */
+    private void setupCurrencyCombo() {
+        currencyCombo.setOnAction(null);
+        currencyCombo.setItems(FXCollections.observableArrayList(MoneyUtil.getDisplayCurrencies()));
+        currencyCombo.setValue(services.getSettings().getCurrency());
+        currencyCombo.setOnAction(e -> convertAmounts());
+    }
+
+    @Override
+    public void onShow() {
+        setupCurrencyCombo();
+        filterBookings();
+    }
+
+    /**
+     * Convert the totals and refunds of the shown rows to the display currency,
+     * each in one pass with a rate resolved once.
+     */
+    private void convertAmounts() {
+        displayTotals.clear();
+        displayRefunds.clear();
+        CurrencyConversion conversion = MoneyUtil.getDisplayConversion(currencyCombo.getValue());
+        if (!conversion.getCurrencyCode().equals(services.getSettings().getCurrency())) {
+            List<Booking> bookings = new ArrayList<>(bookingList.size());
+            double[] refunds = new double[bookingList.size()];
+            for (int i = 0; i < refunds.length; i++) {
+                bookings.add(bookingList.get(i).getBooking());
+                refunds[i] = bookings.get(i).getRefundAmount();
+            }
+            double[] convertedTotals = conversion.convertTotals(bookings);
+            double[] convertedRefunds = conversion.convertAll(refunds);
+
+            String currency = conversion.getCurrencyCode();
+            for (int i = 0; i < refunds.length; i++) {
+                String bookingId = bookings.get(i).getBookingId();
+                displayTotals.put(bookingId, MoneyUtil.formatCurrency(convertedTotals[i], currency));
+                if (refunds[i] > 0) {
+                    displayRefunds.put(bookingId, MoneyUtil.formatCurrency(convertedRefunds[i], currency));
+                }
+            }
+        }
+        bookingTable.refresh();
+    }
+
+    /**
+     * Apply booking changes to the page as they happen, from this or any other screen.
+     */
+    private void setupLiveUpdates() {
+        FxRepositorySync.attach(services.getBookingRepository(), bookingTable, this::applyBookingChanges);
+        // Rows show guest names and room types
+        FxRepositorySync.attach(services.getGuestRepository(), bookingTable, events -> showPage(pageIndex));
+        FxRepositorySync.attach(services.getRoomRepository(), bookingTable, events -> showPage(pageIndex));
+    }
+
+    /**
+     * Replace the rows of updated bookings on the current page. Changes that may
+     * move rows between pages (inserts, deletes, sorted or filtered-out rows,
+     * bookings on other pages) re-read the current page instead.
+     */
+    private void applyBookingChanges(List<RepositoryEvent<Booking>> events) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < bookingList.size(); i++) {
+            positions.put(bookingList.get(i).getBookingId(), i);
+        }
+
+        List<BookingRow> replacements = new ArrayList<>();
+        for (RepositoryEvent<Booking> event : events) {
+            BookingRow row = event.getType() == RepositoryEvent.Type.UPDATED
+                    ? bookingRows.getRow(event.getEntity().getBookingId()) : null;
+            if (row == null || bookingPages.getSort() != null
+                    || !positions.containsKey(row.getBookingId())
+                    || (bookingPages.getStatus() != null && row.getStatus() != bookingPages.getStatus())) {
+                showPage(pageIndex);
+                return;
+            }
+            replacements.add(row);
+        }
+
+        for (BookingRow row : replacements) {
+            bookingList.set(positions.get(row.getBookingId()), row);
+        }
+        convertAmounts();
+        updateButtonStates(bookingTable.getSelectionModel().getSelectedItem());
+    }
+
     private void setupTableSelection() {
         bookingTable.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldSelection, newSelection) -> {
@@ -194,7 +333,7 @@ public class BookingListController {
         );
     }
 
-    private void updateButtonStates(Booking selected) {
+    private void updateButtonStates(BookingRow selected) {
         if (selected == null) {
             viewInvoiceBtn.setDisable(true);
             cancelBtn.setDisable(true);
@@ -203,69 +342,131 @@ public class BookingListController {
             viewInvoiceBtn.setDisable(false);
 
             // Can only cancel confirmed bookings
-            cancelBtn.setDisable(selected.getStatus() != BookingStatus.CONFIRMED);
+            cancelBtn.setDisable(saving || selected.getStatus() != BookingStatus.CONFIRMED);
 
             // Can only complete confirmed bookings
-            completeBtn.setDisable(selected.getStatus() != BookingStatus.CONFIRMED);
+            completeBtn.setDisable(saving || selected.getStatus() != BookingStatus.CONFIRMED);
         }
     }
 
+    /**
+     * Map table columns to the sort orders of the projection. Sorting is done
+     * by the projection, not the table, because the table only holds one page.
+     */
+    private void setupSorting() {
+        sortKeys.put(colBookingId, BookingSort.BOOKING_ID);
+        sortKeys.put(colGuestName, BookingSort.GUEST_NAME);
+        sortKeys.put(colRoom, BookingSort.ROOM);
+        sortKeys.put(colRoomType, BookingSort.ROOM_TYPE);
+        sortKeys.put(colCheckIn, BookingSort.CHECK_IN);
+        sortKeys.put(colCheckOut, BookingSort.CHECK_OUT);
+        sortKeys.put(colTotal, BookingSort.TOTAL);
+        sortKeys.put(colStatus, BookingSort.STATUS);
+        sortKeys.put(colRefund, BookingSort.REFUND);
+
+        // Also called when the items change; only a new sort order reloads
+        bookingTable.setSortPolicy(table -> {
+            if (applyQuery()) {
+                pageIndex = 0;
+                showPage(pageIndex);
+            }
+            return true;
+        });
+    }
+
     private void loadBookings() {
-        try {
-            List<Booking> bookings = bookingService.getAllBookings();
-            bookingList.setAll(bookings);
-            updateBookingCount();
-            updateStatus("Loaded " + bookings.size() + " bookings");
-        } catch (Exception e) {
-            updateStatus("Error loading bookings: " + e.getMessage());
-            AlertUtil.showError("Error", "Failed to load bookings: " + e.getMessage());
-        }
+        updateStatus("Loading bookings...");
+        applyQuery();
+        showPage(pageIndex);
     }
 
+    /**
+     * Show the current page again with the selected status filter and sort order;
+     * restarts from the first page if either has changed.
+     */
     private void filterBookings() {
+        if (applyQuery()) {
+            pageIndex = 0;
+        }
+        showPage(pageIndex);
+    }
+
+    private boolean applyQuery() {
         String filter = statusFilter.getValue();
+        BookingStatus status = "All".equals(filter) || filter == null
+                ? null : BookingStatus.valueOf(filter.toUpperCase());
 
-        try {
-            List<Booking> allBookings = bookingService.getAllBookings();
-            List<Booking> filtered;
-
-            if ("All".equals(filter) || filter == null) {
-                filtered = allBookings;
-            } else {
-                BookingStatus status = BookingStatus.valueOf(filter.toUpperCase());
-                filtered = allBookings.stream()
-                        .filter(b -> b.getStatus() == status)
-                        .collect(Collectors.toList());
-            }
+        TableColumn<BookingRow, ?> column = bookingTable.getSortOrder().isEmpty()
+                ? null : bookingTable.getSortOrder().get(0);
+        BookingSort sort = column == null ? null : sortKeys.get(column);
+        boolean descending = column != null && column.getSortType() == TableColumn.SortType.DESCENDING;
+
+        return bookingPages.setQuery(status, sort, descending);
+    }
+
+    private void showPage(int index) {
+        bookingPages.load(index, page -> {
+                    int lastPage = PagedBookingSource.pageCount(page.getTotalCount()) - 1;
+                    if (index > lastPage) {
+                        // Bookings were removed since the page count was computed
+                        pageIndex = lastPage;
+                        showPage(lastPage);
+                        return;
+                    }
+                    pageIndex = index;
+                    bookingList.setAll(page.getRows());
+                    convertAmounts();
+                    updatePager(page);
+                },
+                e -> {
+                    updateStatus("Error loading bookings: " + e.getMessage());
+                    AlertUtil.showError("Error", "Failed to load bookings: " + e.getMessage());
+                },
+                loadingIndicator);
+    }
 
-            bookingList.setAll(filtered);
-            updateBookingCount();
-            updateStatus("Showing " + filtered.size() + " bookings");
-        } catch (Exception e) {
-            updateStatus("Error filtering bookings: " + e.getMessage());
+    private void updatePager(BookingPage page) {
+        int pageCount = PagedBookingSource.pageCount(page.getTotalCount());
+        pageLabel.setText("Page " + (pageIndex + 1) + " of " + pageCount);
+        previousPageBtn.setDisable(pageIndex == 0);
+        nextPageBtn.setDisable(pageIndex >= pageCount - 1);
+        bookingCountLabel.setText(page.getTotalCount() + " booking(s)");
+        if (page.getRows().isEmpty()) {
+            updateStatus("No bookings");
+        } else {
+            updateStatus("Showing " + (page.getOffset() + 1) + "-" + (page.getOffset() + page.getRows().size())
+                    + " of " + page.getTotalCount() + " bookings");
+        }
+    }
+
+    @FXML
+    private void handlePreviousPage() {
+        if (pageIndex > 0) {
+            showPage(pageIndex - 1);
         }
     }
 
-    private void updateBookingCount() {
-        bookingCountLabel.setText(bookingList.size() + " booking(s)");
+    @FXML
+    private void handleNextPage() {
+        showPage(pageIndex + 1);
     }
 
     @FXML
     private void handleViewInvoice() {
-        Booking selected = bookingTable.getSelectionModel().getSelectedItem();
+        BookingRow selected = bookingTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             AlertUtil.showWarning("No Selection", "Please select a booking to view invoice.");
             return;
         }
 
-        selectedBookingForInvoice = selected;
+        selectedBookingForInvoice = selected.getBooking();
         updateStatus("Opening invoice for booking " + selected.getBookingId() + "...");
         App.showInvoice();
     }
 
     @FXML
     private void handleCancelBooking() {
-        Booking selected = bookingTable.getSelectionModel().getSelectedItem();
+        BookingRow selected = bookingTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             AlertUtil.showWarning("No Selection", "Please select a booking to cancel.");
             return;
@@ -276,45 +477,37 @@ public class BookingListController {
             return;
         }
 
-        // Get guest name for confirmation message
-        String guestName = guestService.findById(selected.getGuestId())
-                .map(Guest::getName)
-                .orElse("Unknown");
-
         boolean confirmed = AlertUtil.showConfirmation(
                 "Confirm Cancellation",
                 String.format("Cancel booking %s for %s?\n\nRoom: %s\nCheck-in: %s\nCheck-out: %s\n\nRefund will be calculated based on the refund policy.",
                         selected.getBookingId(),
-                        guestName,
+                        selected.getGuestName(),
                         selected.getRoomNumber(),
-                        selected.getCheckInDate(),
-                        selected.getCheckOutDate())
+                        selected.getCheckIn(),
+                        selected.getCheckOut())
         );
 
         if (confirmed) {
-            try {
-                Booking cancelled = bookingService.cancelBooking(selected.getBookingId());
+            String bookingId = selected.getBookingId();
+            save(() -> bookingService.cancelBooking(bookingId), cancelled -> {
                 double refund = cancelled.getRefundAmount();
 
                 String refundMessage = refund > 0
-                        ? String.format("Refund amount: %s %.2f", settings.getCurrency(), refund)
+                        ? "Refund amount: " + MoneyUtil.formatCurrency(refund)
                         : "No refund (based on refund policy)";
 
                 AlertUtil.showSuccess(
                         "Booking cancelled successfully.\n\n" + refundMessage
                 );
 
-                filterBookings(); // Refresh with current filter
-                updateStatus("Booking " + selected.getBookingId() + " cancelled");
-            } catch (IllegalArgumentException e) {
-                AlertUtil.showError("Cancellation Error", e.getMessage());
-            }
+                updateStatus("Booking " + bookingId + " cancelled");
+            }, e -> AlertUtil.showError("Cancellation Error", e.getMessage()));
         }
     }
 
     @FXML
     private void handleCompleteBooking() {
-        Booking selected = bookingTable.getSelectionModel().getSelectedItem();
+        BookingRow selected = bookingTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             AlertUtil.showWarning("No Selection", "Please select a booking to complete.");
             return;
@@ -325,28 +518,43 @@ public class BookingListController {
             return;
         }
 
-        String guestName = guestService.findById(selected.getGuestId())
-                .map(Guest::getName)
-                .orElse("Unknown");
-
         boolean confirmed = AlertUtil.showConfirmation(
                 "Confirm Completion",
                 String.format("Mark booking %s for %s as completed?\n\nThis indicates the guest has checked out.",
-                        selected.getBookingId(), guestName)
+                        selected.getBookingId(), selected.getGuestName())
         );
 
         if (confirmed) {
-            try {
-                bookingService.completeBooking(selected.getBookingId());
+            String bookingId = selected.getBookingId();
+            save(() -> bookingService.completeBooking(bookingId), completed -> {
                 AlertUtil.showSuccess("Booking marked as completed.");
-                filterBookings(); // Refresh with current filter
-                updateStatus("Booking " + selected.getBookingId() + " completed");
-            } catch (IllegalArgumentException e) {
-                AlertUtil.showError("Completion Error", e.getMessage());
-            }
+                updateStatus("Booking " + bookingId + " completed");
+            }, e -> AlertUtil.showError("Completion Error", e.getMessage()));
         }
     }
 
+    /**
+     * Write a booking change in the background, keeping cancel and complete
+     * disabled until it is done so a change cannot be submitted twice.
+     */
+    private <T> void save(Callable<T> work, Consumer<T> onSaved, Consumer<Throwable> onFailure) {
+        saving = true;
+        updateButtonStates(bookingTable.getSelectionModel().getSelectedItem());
+        updateStatus("Saving...");
+        BackgroundTasks.submit(SAVE_TASK, work,
+                result -> {
+                    saving = false;
+                    updateButtonStates(bookingTable.getSelectionModel().getSelectedItem());
+                    onSaved.accept(result);
+                },
+                e -> {
+                    saving = false;
+                    updateButtonStates(bookingTable.getSelectionModel().getSelectedItem());
+                    updateStatus("Error: " + e.getMessage());
+                    onFailure.accept(e);
+                });
+    }
+
     @FXML
     private void handleNewBooking() {
         updateStatus("Opening New Booking...");
@@ -358,6 +566,38 @@ public class BookingListController {
         filterBookings();
     }
 
+    @FXML
+    private void handleExport() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Bookings");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON Lines (*.jsonl)", "*.jsonl"));
+        chooser.setInitialFileName("bookings.csv");
+        File file = chooser.showSaveDialog(App.getPrimaryStage());
+        if (file == null) {
+            return;
+        }
+
+        // Export what the table shows: the current status filter applies
+        ExportFilter filter = ExportFilter.all();
+        String status = statusFilter.getValue();
+        if (status != null && !"All".equals(status)) {
+            filter = filter.withStatus(BookingStatus.valueOf(status.toUpperCase()));
+        }
+
+        ExportFilter exportFilter = filter;
+        ExportFormat format = ExportFormat.fromFileName(file.getName());
+        updateStatus("Exporting to " + file.getName() + "...");
+        BackgroundTasks.submit(EXPORT_TASK, () -> {
+                    try (Writer writer = ExportService.openWriter(file.toPath())) {
+                        return services.getExportService().exportBookingDetails(exportFilter, format, writer);
+                    }
+                },
+                rows -> updateStatus("Exported " + rows + " booking(s) to " + file.getName()),
+                e -> AlertUtil.showError("Export Error", "Failed to export bookings: " + e.getMessage()));
+    }
+
     @FXML
     private void handleBack() {
         App.showDashboard();
@@ -1,18 +1,37 @@
 package com.example.hotel.gui.controllers;
 
 import com.example.hotel.App;
+import com.example.hotel.model.enums.RoomType;
 import com.example.hotel.persistence.Settings;
 import com.example.hotel.service.BookingService;
 import com.example.hotel.service.GuestService;
 import com.example.hotel.service.RoomService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.analytics.OccupancyAnalytics;
+import com.example.hotel.service.analytics.OccupancyGrouping;
+import com.example.hotel.service.analytics.OccupancyReport;
+import com.example.hotel.service.analytics.OccupancyStats;
+import com.example.hotel.service.analytics.RevenueAggregates;
+import com.example.hotel.service.analytics.RevenueMetric;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.FxRepositorySync;
+import com.example.hotel.util.MoneyUtil;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Map;
 
 /**
  * Controller for the Dashboard view.
  * Displays statistics and provides navigation to other screens.
  */
-public class DashboardController {
+public class DashboardController implements ViewLifecycle {
+
+    private static final int REVENUE_PERIOD_DAYS = 30;
+    private static final String REFRESH_TASK = "dashboard.refresh";
 
     @FXML
     private Label hotelNameLabel;
@@ -29,19 +48,62 @@ public class DashboardController {
     @FXML
     private Label totalGuestsLabel;
 
+    @FXML
+    private Label revenuePeriodLabel;
+
+    @FXML
+    private Label revenueLabel;
+
+    @FXML
+    private Label vatCollectedLabel;
+
+    @FXML
+    private Label refundsLabel;
+
+    @FXML
+    private Label revenueByTypeLabel;
+
+    @FXML
+    private Label occupancyPeriodLabel;
+
+    @FXML
+    private Label occupancyLabel;
+
+    @FXML
+    private Label adrLabel;
+
+    @FXML
+    private Label revParLabel;
+
+    @FXML
+    private Label occupancyByTypeLabel;
+
     @FXML
     private Label statusLabel;
 
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    private final ServiceRegistry services;
     private final RoomService roomService;
     private final BookingService bookingService;
     private final GuestService guestService;
     private final Settings settings;
+    private final RevenueAggregates revenueAggregates;
+    private final OccupancyAnalytics occupancyAnalytics;
 
     public DashboardController() {
-        this.roomService = new RoomService();
-        this.bookingService = new BookingService();
-        this.guestService = new GuestService();
-        this.settings = Settings.getInstance();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public DashboardController(ServiceRegistry services) {
+        this.services = services;
+        this.roomService = services.getRoomService();
+        this.bookingService = services.getBookingService();
+        this.guestService = services.getGuestService();
+        this.settings = services.getSettings();
+        this.revenueAggregates = services.getRevenueAggregates();
+        this.occupancyAnalytics = services.getOccupancyAnalytics();
     }
 
     @FXML
@@ -51,28 +113,109 @@ public class DashboardController {
 
         // Load initial statistics
         refreshStatistics();
+
+        // Keep the figures current while the dashboard is shown
+        FxRepositorySync.attach(services.getBookingRepository(), statusLabel, events -> refreshStatistics());
+        FxRepositorySync.attach(services.getRoomRepository(), statusLabel, events -> refreshStatistics());
+        FxRepositorySync.attach(services.getGuestRepository(), statusLabel, events -> refreshStatistics());
+    }
+
+    @Override
+    public void onShow() {
+        hotelNameLabel.setText(settings.getHotelName());
+        refreshStatistics();
     }
 
     /**
      * Refreshes all statistics displayed on the dashboard.
+     * The figures are computed in the background and shown when ready.
      */
     @FXML
     public void refreshStatistics() {
-        try {
-            long totalRooms = roomService.getTotalRoomCount();
-            long availableRooms = roomService.getAvailableRoomCount();
-            long activeBookings = bookingService.getActiveBookingCount();
-            long totalGuests = guestService.getGuestCount();
-
-            totalRoomsLabel.setText(String.valueOf(totalRooms));
-            availableRoomsLabel.setText(String.valueOf(availableRooms));
-            activeBookingsLabel.setText(String.valueOf(activeBookings));
-            totalGuestsLabel.setText(String.valueOf(totalGuests));
-
-            updateStatus("Statistics refreshed");
-        } catch (Exception e) {
-            updateStatus("Error loading statistics: " + e.getMessage());
+        updateStatus("Loading statistics...");
+        BackgroundTasks.submit(REFRESH_TASK, this::loadStatistics, this::showStatistics,
+                e -> updateStatus("Error loading statistics: " + e.getMessage()),
+                loadingIndicator);
+    }
+
+    /**
+     * Collects the dashboard figures; runs off the FX thread.
+     */
+    private Statistics loadStatistics() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(REVENUE_PERIOD_DAYS - 1);
+
+        Statistics stats = new Statistics();
+        stats.totalRooms = roomService.getTotalRoomCount();
+        stats.availableRooms = roomService.getAvailableRoomCount();
+        stats.activeBookings = bookingService.getActiveBookingCount();
+        stats.totalGuests = guestService.getGuestCount();
+
+        stats.revenue = revenueAggregates.getTotal(RevenueMetric.NET_REVENUE, from, to,
+                EnumSet.allOf(RoomType.class), RevenueAggregates.REVENUE_STATUSES);
+        stats.vat = revenueAggregates.getTotal(RevenueMetric.VAT, from, to,
+                EnumSet.allOf(RoomType.class), RevenueAggregates.REVENUE_STATUSES);
+        stats.refunds = revenueAggregates.getTotal(RevenueMetric.REFUNDS, from, to);
+        stats.revenueByType = revenueAggregates.getTotalsByRoomType(
+                RevenueMetric.NET_REVENUE, from, to, RevenueAggregates.REVENUE_STATUSES);
+
+        stats.occupancy = occupancyAnalytics.report(from, to, OccupancyGrouping.ROOM_TYPE);
+        return stats;
+    }
+
+    private void showStatistics(Statistics stats) {
+        totalRoomsLabel.setText(String.valueOf(stats.totalRooms));
+        availableRoomsLabel.setText(String.valueOf(stats.availableRooms));
+        activeBookingsLabel.setText(String.valueOf(stats.activeBookings));
+        totalGuestsLabel.setText(String.valueOf(stats.totalGuests));
+
+        showRevenue(stats);
+        showOccupancy(stats.occupancy);
+
+        updateStatus("Statistics refreshed");
+    }
+
+    /**
+     * Shows revenue, VAT and refunds for the last days from the materialized aggregates.
+     */
+    private void showRevenue(Statistics stats) {
+        revenuePeriodLabel.setText("Revenue (last " + REVENUE_PERIOD_DAYS + " days)");
+
+        revenueLabel.setText(MoneyUtil.formatCurrency(stats.revenue));
+        vatCollectedLabel.setText(MoneyUtil.formatCurrency(stats.vat));
+        refundsLabel.setText(MoneyUtil.formatCurrency(stats.refunds));
+
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<RoomType, Double> entry : stats.revenueByType.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append("   |   ");
+            }
+            sb.append(entry.getKey().getDisplayName()).append(": ")
+              .append(MoneyUtil.formatCurrency(entry.getValue()));
+        }
+        revenueByTypeLabel.setText(sb.toString());
+    }
+
+    /**
+     * Shows occupancy, ADR and RevPAR for the last days, overall and per room type.
+     */
+    private void showOccupancy(OccupancyReport report) {
+        occupancyPeriodLabel.setText("Occupancy (last " + REVENUE_PERIOD_DAYS + " days)");
+
+        OccupancyStats total = report.getTotal();
+        occupancyLabel.setText(MoneyUtil.formatPercentage(total.getOccupancyRate()));
+        adrLabel.setText(MoneyUtil.formatCurrency(total.getAverageDailyRate()));
+        revParLabel.setText(MoneyUtil.formatCurrency(total.getRevPar()));
+
+        StringBuilder sb = new StringBuilder();
+        for (OccupancyStats group : report.getGroups()) {
+            if (sb.length() > 0) {
+                sb.append("   |   ");
+            }
+            sb.append(group.getLabel()).append(": ")
+              .append(MoneyUtil.formatPercentage(group.getOccupancyRate()));
         }
+        occupancyByTypeLabel.setText(sb.toString());
     }
 
     @FXML
@@ -99,6 +242,12 @@ public class DashboardController {
         App.showBookingList();
     }
 
+    @FXML
+    private void handleOccupancyTimeline() {
+        updateStatus("Opening Occupancy Timeline...");
+        App.showOccupancyTimeline();
+    }
+
     @FXML
     private void handleRefresh() {
         refreshStatistics();
@@ -112,4 +261,19 @@ public class DashboardController {
     private void updateStatus(String message) {
         statusLabel.setText(message);
     }
+
+    /**
+     * Dashboard figures gathered in the background.
+     */
+    private static final class Statistics {
+        long totalRooms;
+        long availableRooms;
+        long activeBookings;
+        long totalGuests;
+        double revenue;
+        double vat;
+        double refunds;
+        Map<RoomType, Double> revenueByType;
+        OccupancyReport occupancy;
+    }
 }
@@ -0,0 +1,161 @@
+package com.example.hotel.gui.controllers;
+
+import com.example.hotel.App;
+import com.example.hotel.model.Guest;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.dedup.DuplicateCandidate;
+import com.example.hotel.service.dedup.GuestDeduplicationService;
+import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.MoneyUtil;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller for the Duplicate Guests view.
+ * Lists likely duplicate guest pairs for review and merges the selected ones.
+ */
+public class DuplicateGuestsController {
+
+    private static final String SCAN_TASK = "duplicateGuests.scan";
+    private static final String MERGE_TASK = "duplicateGuests.merge";
+
+    @FXML
+    private TableView<DuplicateCandidate> candidateTable;
+
+    @FXML
+    private TableColumn<DuplicateCandidate, String> colKeep;
+
+    @FXML
+    private TableColumn<DuplicateCandidate, String> colDuplicate;
+
+    @FXML
+    private TableColumn<DuplicateCandidate, String> colSimilarity;
+
+    @FXML
+    private TableColumn<DuplicateCandidate, String> colReason;
+
+    @FXML
+    private Button mergeBtn;
+
+    @FXML
+    private Button scanBtn;
+
+    @FXML
+    private Label statusLabel;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    private final GuestDeduplicationService deduplicationService;
+    private final ObservableList<DuplicateCandidate> candidates;
+    // A merge is running; merging and scanning stay disabled until it is done
+    private boolean merging;
+
+    public DuplicateGuestsController() {
+        this(ServiceRegistry.getInstance());
+    }
+
+    public DuplicateGuestsController(ServiceRegistry services) {
+        this.deduplicationService = services.getGuestDeduplicationService();
+        this.candidates = FXCollections.observableArrayList();
+    }
+
+    @FXML
+    public void initialize() {
+        colKeep.setCellValueFactory(data ->
+            new SimpleStringProperty(describe(data.getValue().getKeep())));
+        colDuplicate.setCellValueFactory(data ->
+            new SimpleStringProperty(describe(data.getValue().getDuplicate())));
+        colSimilarity.setCellValueFactory(data ->
+            new SimpleStringProperty(MoneyUtil.formatPercentage(data.getValue().getSimilarity())));
+        colReason.setCellValueFactory(data ->
+            new SimpleStringProperty(data.getValue().getReason()));
+
+        candidateTable.setItems(candidates);
+        candidateTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        candidateTable.getSelectionModel().getSelectedItems().addListener(
+            (ListChangeListener<DuplicateCandidate>) change -> updateButtonStates());
+
+        scan();
+    }
+
+    /**
+     * Look for duplicates in the background.
+     */
+    private void scan() {
+        updateStatus("Scanning guests...");
+        BackgroundTasks.submit(SCAN_TASK, deduplicationService::findDuplicates,
+            found -> {
+                candidates.setAll(found);
+                updateStatus("Found " + found.size() + " possible duplicate(s)");
+            },
+            e -> updateStatus("Error scanning guests: " + e.getMessage()),
+            loadingIndicator);
+    }
+
+    private void updateButtonStates() {
+        mergeBtn.setDisable(merging || candidateTable.getSelectionModel().getSelectedItems().isEmpty());
+        scanBtn.setDisable(merging);
+    }
+
+    @FXML
+    private void handleScan() {
+        scan();
+    }
+
+    @FXML
+    private void handleMerge() {
+        List<DuplicateCandidate> selected = new ArrayList<>(candidateTable.getSelectionModel().getSelectedItems());
+        if (selected.isEmpty()) {
+            return;
+        }
+
+        boolean confirmed = AlertUtil.showConfirmation("Merge Guests",
+            "Merge " + selected.size() + " duplicate(s)?\n\n"
+                + "Their bookings will be moved to the kept guest and the duplicates deleted.");
+        if (!confirmed) {
+            return;
+        }
+
+        // A scan still running would show pairs that are about to be merged
+        BackgroundTasks.cancel(SCAN_TASK);
+        merging = true;
+        updateButtonStates();
+        updateStatus("Merging " + selected.size() + " duplicate(s)...");
+        BackgroundTasks.submit(MERGE_TASK, () -> deduplicationService.merge(selected),
+            moved -> {
+                merging = false;
+                updateButtonStates();
+                AlertUtil.showSuccess("Merged " + selected.size() + " duplicate(s), moved " + moved + " booking(s).");
+                scan();
+            },
+            e -> {
+                merging = false;
+                updateButtonStates();
+                updateStatus("Merge failed: " + e.getMessage());
+                AlertUtil.showError("Merge Error", e.getMessage());
+            },
+            loadingIndicator);
+    }
+
+    @FXML
+    private void handleBack() {
+        App.showGuestManagement();
+    }
+
+    private static String describe(Guest guest) {
+        return guest.getName() + " | " + guest.getEmail() + " | " + guest.getPhone();
+    }
+
+    private void updateStatus(String message) {
+        statusLabel.setText(message);
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.hotel.gui.controllers;
 
 import com.example.hotel.App;
-import com.example.hotel.model.Booking;
 import com.example.hotel.model.Guest;
 import com.example.hotel.model.Room;
 import com.example.hotel.persistence.Settings;
 import com.example.hotel.service.BookingService;
 import com.example.hotel.service.GuestService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.CurrencyConversion;
 import com.example.hotel.util.MoneyUtil;
 import com.example.hotel.util.ValidationUtil;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 
@@ -22,6 +27,8 @@ import java.time.temporal.ChronoUnit;
  */
 public class GuestBookingFormController {
 
+    private static final String SAVE_TASK = "guestBookingForm.save";
+
     @FXML
     private Label roomInfoLabel;
 
@@ -40,6 +47,12 @@ public class GuestBookingFormController {
     @FXML
     private Label totalLabel;
 
+    @FXML
+    private ComboBox<String> currencyCombo;
+
+    @FXML
+    private Label chargedInLabel;
+
     @FXML
     private TextField nameField;
 
@@ -55,14 +68,25 @@ public class GuestBookingFormController {
     @FXML
     private Label lookupLabel;
 
+    @FXML
+    private Button confirmBtn;
+
     private final GuestService guestService;
     private final BookingService bookingService;
     private final Settings settings;
 
+    private double subtotal;
+    private double vat;
+    private double total;
+
     public GuestBookingFormController() {
-        this.guestService = new GuestService();
-        this.bookingService = new BookingService();
-        this.settings = Settings.getInstance();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public GuestBookingFormController(ServiceRegistry services) {
+        this.guestService = services.getGuestService();
+        this.bookingService = services.getBookingService();
+        this.settings = services.getSettings();
     }
 
     @FXML
@@ -83,13 +107,11 @@ public class GuestBookingFormController {
         long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
         nightsLabel.setText(nights + " night(s)");
 
-        double subtotal = bookingService.calculateSubtotal(room, checkIn, checkOut);
-        double total = bookingService.calculateTotalCost(room, checkIn, checkOut);
-        double vat = total - subtotal;
+        subtotal = bookingService.calculateSubtotal(room, checkIn, checkOut);
+        total = bookingService.calculateTotalCost(room, checkIn, checkOut);
+        vat = total - subtotal;
 
-        subtotalLabel.setText(MoneyUtil.formatCurrency(subtotal));
-        vatLabel.setText(MoneyUtil.formatCurrency(vat) + " (" + (int)(settings.getVatRate() * 100) + "%)");
-        totalLabel.setText(MoneyUtil.formatCurrency(total));
+        setupCurrencyCombo();
 
         errorLabel.setText("");
         lookupLabel.setText("");
@@ -102,6 +124,31 @@ public class GuestBookingFormController {
         });
     }
 
+    private void setupCurrencyCombo() {
+        String hotelCurrency = settings.getCurrency();
+        currencyCombo.setItems(FXCollections.observableArrayList(MoneyUtil.getDisplayCurrencies()));
+        currencyCombo.valueProperty().addListener((obs, oldVal, newVal) -> updateCostLabels(newVal));
+        currencyCombo.setValue(hotelCurrency);
+    }
+
+    private void updateCostLabels(String currencyCode) {
+        if (currencyCode == null) {
+            return;
+        }
+        // Resolve the rate once for all three amounts
+        CurrencyConversion conversion = MoneyUtil.getDisplayConversion(currencyCode);
+        LocalDate checkIn = GuestPortalState.getCheckInDate();
+
+        subtotalLabel.setText(MoneyUtil.formatCurrency(subtotal, conversion));
+        vatLabel.setText(MoneyUtil.formatCurrency(vat, conversion) + " (" + (int)(settings.getVatRate(checkIn) * 100) + "%)");
+        totalLabel.setText(MoneyUtil.formatCurrency(total, conversion));
+
+        String hotelCurrency = settings.getCurrency();
+        chargedInLabel.setText(conversion.getCurrencyCode().equals(hotelCurrency)
+            ? ""
+            : "Approximate. You will be charged " + MoneyUtil.formatCurrency(total, hotelCurrency) + ".");
+    }
+
     private void lookupGuest() {
         String email = emailField.getText().trim();
         if (email.isEmpty() || !ValidationUtil.isValidEmail(email)) {
@@ -145,28 +192,30 @@ public class GuestBookingFormController {
             return;
         }
 
-        try {
+        Room room = GuestPortalState.getSelectedRoom();
+        LocalDate checkIn = GuestPortalState.getCheckInDate();
+        LocalDate checkOut = GuestPortalState.getCheckOutDate();
+
+        // Disabled until the booking is saved, so it cannot be confirmed twice
+        confirmBtn.setDisable(true);
+        BackgroundTasks.submit(SAVE_TASK, () -> {
             // Find or create guest
             Guest guest = guestService.findOrCreateGuest(name, phone, email);
 
             // Create booking
-            Room room = GuestPortalState.getSelectedRoom();
-            LocalDate checkIn = GuestPortalState.getCheckInDate();
-            LocalDate checkOut = GuestPortalState.getCheckOutDate();
-
-            Booking booking = bookingService.createBooking(
+            return bookingService.createBooking(
                 guest.getId(),
                 room.getRoomNumber(),
                 checkIn,
                 checkOut
             );
-
+        }, booking -> {
             GuestPortalState.setCreatedBooking(booking);
             App.showGuestBookingConfirmation();
-
-        } catch (IllegalArgumentException e) {
+        }, e -> {
+            confirmBtn.setDisable(false);
             errorLabel.setText("Booking failed: " + e.getMessage());
-        }
+        });
     }
 
     @FXML
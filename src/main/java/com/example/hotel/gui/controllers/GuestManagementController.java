@@ -3,7 +3,15 @@ package com.example.hotel.gui.controllers;
 import com.example.hotel.App;
 import com.example.hotel.model.Guest;
 import com.example.hotel.service.GuestService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.analytics.GuestStatsCache;
+import com.example.hotel.service.search.GuestSearchIndex;
 import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.DebouncedSearch;
+import com.example.hotel.util.DateUtil;
+import com.example.hotel.util.FxRepositorySync;
+import com.example.hotel.util.MoneyUtil;
 import com.example.hotel.util.ValidationUtil;
 import com.example.hotel.util.ValidationUtil.ValidationResult;
 import javafx.beans.property.SimpleStringProperty;
@@ -13,12 +21,17 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Guest Management view.
  * Handles CRUD operations for guests.
  */
-public class GuestManagementController {
+public class GuestManagementController implements ViewLifecycle {
+
+    private static final String SEARCH_TASK = "guestManagement.search";
+    private static final String SAVE_TASK = "guestManagement.save";
 
     @FXML
     private TableView<Guest> guestTable;
@@ -35,6 +48,18 @@ public class GuestManagementController {
     @FXML
     private TableColumn<Guest, String> colEmail;
 
+    @FXML
+    private TableColumn<Guest, String> colStays;
+
+    @FXML
+    private TableColumn<Guest, String> colNights;
+
+    @FXML
+    private TableColumn<Guest, String> colSpend;
+
+    @FXML
+    private TableColumn<Guest, String> colLastStay;
+
     @FXML
     private TextField guestIdField;
 
@@ -62,12 +87,25 @@ public class GuestManagementController {
     @FXML
     private Button deleteBtn;
 
+    private final ServiceRegistry services;
     private final GuestService guestService;
+    private final GuestStatsCache guestStats;
     private final ObservableList<Guest> guestList;
     private Guest selectedGuest;
+    // A save is running; the form buttons stay disabled until it is done
+    private boolean saving;
+    // Search the list currently shows; empty for all guests
+    private String activeSearch = "";
+    private DebouncedSearch<Guest> guestSearch;
 
     public GuestManagementController() {
-        this.guestService = new GuestService();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public GuestManagementController(ServiceRegistry services) {
+        this.services = services;
+        this.guestService = services.getGuestService();
+        this.guestStats = services.getGuestStatsCache();
         this.guestList = FXCollections.observableArrayList();
     }
 
@@ -75,6 +113,8 @@ public class GuestManagementController {
     public void initialize() {
         setupTableColumns();
         setupTableSelection();
+        setupLiveUpdates();
+        setupSearch();
         loadGuests();
         updateButtonStates();
     }
@@ -92,6 +132,19 @@ public class GuestManagementController {
         colEmail.setCellValueFactory(data ->
             new SimpleStringProperty(data.getValue().getEmail()));
 
+        colStays.setCellValueFactory(data ->
+            new SimpleStringProperty(String.valueOf(guestStats.get(data.getValue().getId()).getStayCount())));
+
+        colNights.setCellValueFactory(data ->
+            new SimpleStringProperty(String.valueOf(guestStats.get(data.getValue().getId()).getTotalNights())));
+
+        colSpend.setCellValueFactory(data ->
+            new SimpleStringProperty(MoneyUtil.formatCurrency(
+                guestStats.get(data.getValue().getId()).getLifetimeSpend())));
+
+        colLastStay.setCellValueFactory(data ->
+            new SimpleStringProperty(DateUtil.formatDateIso(guestStats.get(data.getValue().getId()).getLastStay())));
+
         guestTable.setItems(guestList);
     }
 
@@ -107,7 +160,51 @@ public class GuestManagementController {
         );
     }
 
+    /**
+     * Apply guest changes to the list as they happen, from this or any other screen.
+     */
+    private void setupLiveUpdates() {
+        FxRepositorySync.attach(services.getGuestRepository(), guestTable, events -> {
+            if (!FxRepositorySync.applyChanges(guestList, events, Guest::getId, this::matchesActiveSearch)) {
+                reloadGuests();
+            }
+        });
+        // Stay figures change with bookings
+        FxRepositorySync.attach(services.getBookingRepository(), guestTable, events -> guestTable.refresh());
+    }
+
+    /**
+     * Search as the user types; results arrive in the background.
+     */
+    private void setupSearch() {
+        guestSearch = new DebouncedSearch<>(SEARCH_TASK,
+            term -> term.isEmpty() ? guestService.getAllGuests() : guestService.search(term),
+            GuestSearchIndex::matches,
+            () -> guestList,
+            this::showSearchResults,
+            e -> updateStatus("Search error: " + e.getMessage()));
+        guestSearch.bind(searchField);
+    }
+
+    @Override
+    public void onShow() {
+        reloadGuests();
+    }
+
+    private boolean matchesActiveSearch(Guest guest) {
+        return activeSearch.isEmpty() || GuestSearchIndex.matches(guest, activeSearch);
+    }
+
+    private void reloadGuests() {
+        if (activeSearch.isEmpty()) {
+            loadGuests();
+        } else {
+            guestList.setAll(guestService.search(activeSearch));
+        }
+    }
+
     private void loadGuests() {
+        activeSearch = "";
         try {
             List<Guest> guests = guestService.getAllGuests();
             guestList.setAll(guests);
@@ -127,9 +224,9 @@ public class GuestManagementController {
 
     private void updateButtonStates() {
         boolean hasSelection = selectedGuest != null;
-        addBtn.setDisable(hasSelection);
-        updateBtn.setDisable(!hasSelection);
-        deleteBtn.setDisable(!hasSelection);
+        addBtn.setDisable(saving || hasSelection);
+        updateBtn.setDisable(saving || !hasSelection);
+        deleteBtn.setDisable(saving || !hasSelection);
     }
 
     @FXML
@@ -144,15 +241,11 @@ public class GuestManagementController {
             return;
         }
 
-        try {
-            Guest guest = guestService.addGuest(name, phone, email);
-            loadGuests();
+        save(() -> guestService.addGuest(name, phone, email), guest -> {
             handleClear();
             AlertUtil.showSuccess("Guest added successfully with ID: " + guest.getId());
             updateStatus("Guest added: " + guest.getName());
-        } catch (IllegalArgumentException e) {
-            AlertUtil.showError("Error", e.getMessage());
-        }
+        }, e -> AlertUtil.showError("Error", e.getMessage()));
     }
 
     @FXML
@@ -172,18 +265,27 @@ public class GuestManagementController {
             return;
         }
 
-        try {
-            selectedGuest.setName(name);
-            selectedGuest.setPhone(phone);
-            selectedGuest.setEmail(email);
-
-            guestService.updateGuest(selectedGuest);
-            loadGuests();
+        Guest guest = selectedGuest;
+        String oldName = guest.getName();
+        String oldPhone = guest.getPhone();
+        String oldEmail = guest.getEmail();
+        guest.setName(name);
+        guest.setPhone(phone);
+        guest.setEmail(email);
+
+        save(() -> {
+            guestService.updateGuest(guest);
+            return guest;
+        }, updated -> {
             AlertUtil.showSuccess("Guest updated successfully");
             updateStatus("Guest updated: " + name);
-        } catch (IllegalArgumentException e) {
+        }, e -> {
+            // Rejected (e.g. email already in use); keep the stored values
+            guest.setName(oldName);
+            guest.setPhone(oldPhone);
+            guest.setEmail(oldEmail);
             AlertUtil.showError("Error", e.getMessage());
-        }
+        });
     }
 
     @FXML
@@ -199,24 +301,42 @@ public class GuestManagementController {
         );
 
         if (confirmed) {
-            try {
-                String guestName = selectedGuest.getName();
-                String guestId = selectedGuest.getId();
-                boolean deleted = guestService.deleteGuest(guestId);
+            String guestName = selectedGuest.getName();
+            String guestId = selectedGuest.getId();
+            save(() -> guestService.deleteGuest(guestId), deleted -> {
                 if (deleted) {
-                    loadGuests();
                     handleClear();
                     AlertUtil.showSuccess("Guest " + guestName + " deleted successfully");
                     updateStatus("Guest deleted: " + guestName);
                 } else {
                     AlertUtil.showError("Error", "Failed to delete guest");
                 }
-            } catch (Exception e) {
-                AlertUtil.showError("Error", "Failed to delete guest: " + e.getMessage());
-            }
+            }, e -> AlertUtil.showError("Error", "Failed to delete guest: " + e.getMessage()));
         }
     }
 
+    /**
+     * Write a change in the background, keeping the form buttons disabled
+     * until it is done so a change cannot be submitted twice.
+     */
+    private <T> void save(Callable<T> work, Consumer<T> onSaved, Consumer<Throwable> onFailure) {
+        saving = true;
+        updateButtonStates();
+        updateStatus("Saving...");
+        BackgroundTasks.submit(SAVE_TASK, work,
+            result -> {
+                saving = false;
+                updateButtonStates();
+                onSaved.accept(result);
+            },
+            e -> {
+                saving = false;
+                updateButtonStates();
+                updateStatus("Error: " + e.getMessage());
+                onFailure.accept(e);
+            });
+    }
+
     @FXML
     private void handleClear() {
         guestIdField.clear();
@@ -231,22 +351,24 @@ public class GuestManagementController {
 
     @FXML
     private void handleSearch() {
-        String searchTerm = ValidationUtil.clean(searchField.getText());
+        guestSearch.searchNow(searchField.getText());
+    }
 
+    private void showSearchResults(String searchTerm, List<Guest> results) {
+        activeSearch = searchTerm;
+        guestList.setAll(results);
         if (searchTerm.isEmpty()) {
-            loadGuests();
-            return;
-        }
-
-        try {
-            List<Guest> results = guestService.searchByName(searchTerm);
-            guestList.setAll(results);
+            updateStatus("Loaded " + results.size() + " guests");
+        } else {
             updateStatus("Found " + results.size() + " guest(s)");
-        } catch (Exception e) {
-            updateStatus("Search error: " + e.getMessage());
         }
     }
 
+    @FXML
+    private void handleFindDuplicates() {
+        App.showDuplicateGuests();
+    }
+
     @FXML
     private void handleBackToDashboard() {
         App.showDashboard();
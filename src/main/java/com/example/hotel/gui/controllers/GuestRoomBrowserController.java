@@ -4,24 +4,25 @@ import com.example.hotel.App;
 import com.example.hotel.model.Room;
 import com.example.hotel.service.BookingService;
 import com.example.hotel.service.RoomService;
-import com.example.hotel.util.MoneyUtil;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.util.BackgroundTasks;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
-import javafx.geometry.Pos;
-import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
-import javafx.scene.layout.FlowPane;
-import javafx.scene.layout.VBox;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Controller for the Guest Room Browser screen.
  * Allows guests to select dates and browse available rooms.
  */
-public class GuestRoomBrowserController {
+public class GuestRoomBrowserController implements ViewLifecycle {
+
+    private static final String SEARCH_TASK = "guestRoomBrowser.search";
 
     @FXML
     private DatePicker checkInPicker;
@@ -30,17 +31,27 @@ public class GuestRoomBrowserController {
     private DatePicker checkOutPicker;
 
     @FXML
-    private FlowPane roomsContainer;
+    private ListView<List<Room>> roomGrid;
 
     @FXML
     private Label messageLabel;
 
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
     private final RoomService roomService;
     private final BookingService bookingService;
 
+    private List<Room> availableRooms = List.of();
+    private int columns;
+
     public GuestRoomBrowserController() {
-        this.roomService = new RoomService();
-        this.bookingService = new BookingService();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public GuestRoomBrowserController(ServiceRegistry services) {
+        this.roomService = services.getRoomService();
+        this.bookingService = services.getBookingService();
     }
 
     @FXML
@@ -76,10 +87,22 @@ public class GuestRoomBrowserController {
             }
         });
 
+        // Only visible rows get cells; cards are regrouped when the width changes
+        roomGrid.setCellFactory(list -> new RoomCardRowCell(this::handleBookRoom));
+        roomGrid.widthProperty().addListener((obs, oldVal, newVal) -> layoutRooms());
+
         // Initial search
         handleSearchRooms();
     }
 
+    @Override
+    public void onShow() {
+        // Dates picked on an earlier visit may have passed
+        checkInPicker.setValue(LocalDate.now());
+        checkOutPicker.setValue(LocalDate.now().plusDays(1));
+        handleSearchRooms();
+    }
+
     @FXML
     private void handleSearchRooms() {
         LocalDate checkIn = checkInPicker.getValue();
@@ -95,45 +118,45 @@ public class GuestRoomBrowserController {
             return;
         }
 
-        List<Room> availableRooms = roomService.getAvailableRoomsForDates(
-            checkIn, checkOut, bookingService);
-
-        roomsContainer.getChildren().clear();
+        messageLabel.setText("Searching...");
+        BackgroundTasks.submit(SEARCH_TASK,
+            () -> roomService.getAvailableRoomsForDates(checkIn, checkOut, bookingService),
+            this::showRooms,
+            e -> messageLabel.setText("Error searching rooms: " + e.getMessage()),
+            loadingIndicator);
+    }
 
-        if (availableRooms.isEmpty()) {
+    private void showRooms(List<Room> rooms) {
+        availableRooms = rooms;
+        if (rooms.isEmpty()) {
             messageLabel.setText("No rooms available for the selected dates");
         } else {
-            messageLabel.setText(availableRooms.size() + " room(s) available");
-            for (Room room : availableRooms) {
-                roomsContainer.getChildren().add(createRoomCard(room));
-            }
+            messageLabel.setText(rooms.size() + " room(s) available");
         }
+        columns = 0;
+        layoutRooms();
+        roomGrid.scrollTo(0);
     }
 
-    private VBox createRoomCard(Room room) {
-        VBox card = new VBox(10);
-        card.getStyleClass().add("room-card");
-        card.setAlignment(Pos.CENTER);
-        card.setPadding(new Insets(20));
-
-        Label roomNumber = new Label("Room " + room.getRoomNumber());
-        roomNumber.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
-
-        Label roomType = new Label(room.getType().toString());
-        roomType.setStyle("-fx-font-size: 14px; -fx-text-fill: #757575;");
-
-        Label price = new Label(MoneyUtil.formatCurrency(room.getPricePerNight()) + " / night");
-        price.setStyle("-fx-font-size: 16px; -fx-text-fill: #2196F3; -fx-font-weight: bold;");
-
-        Label refundable = new Label(room.isRefundable() ? "Refundable" : "Non-refundable");
-        refundable.setStyle("-fx-font-size: 12px; -fx-text-fill: " + (room.isRefundable() ? "#4CAF50" : "#757575") + ";");
-
-        Button bookButton = new Button("Book This Room");
-        bookButton.getStyleClass().addAll("button", "button-success");
-        bookButton.setOnAction(e -> handleBookRoom(room));
+    /**
+     * Group the available rooms into rows of as many cards as fit the grid width.
+     */
+    private void layoutRooms() {
+        // Leave room for the vertical scroll bar
+        double width = roomGrid.getWidth() - 20;
+        int fit = width <= 0 ? 1
+            : (int) Math.max(1, (width + RoomCardRowCell.CARD_GAP)
+                / (RoomCardRowCell.CARD_WIDTH + RoomCardRowCell.CARD_GAP));
+        if (fit == columns) {
+            return;
+        }
+        columns = fit;
 
-        card.getChildren().addAll(roomNumber, roomType, price, refundable, bookButton);
-        return card;
+        List<List<Room>> rows = new ArrayList<>((availableRooms.size() + fit - 1) / fit);
+        for (int i = 0; i < availableRooms.size(); i += fit) {
+            rows.add(availableRooms.subList(i, Math.min(i + fit, availableRooms.size())));
+        }
+        roomGrid.getItems().setAll(rows);
     }
 
     private void handleBookRoom(Room room) {
@@ -10,9 +10,17 @@ import com.example.hotel.persistence.Settings;
 import com.example.hotel.service.GuestService;
 import com.example.hotel.service.InvoiceService;
 import com.example.hotel.service.RoomService;
+import com.example.hotel.service.ServiceRegistry;
 import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.CurrencyConversion;
+import com.example.hotel.util.DateUtil;
+import com.example.hotel.util.MoneyUtil;
+import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.VBox;
 
 import java.time.format.DateTimeFormatter;
@@ -21,7 +29,7 @@ import java.time.format.DateTimeFormatter;
  * Controller for the Invoice view.
  * Displays invoice details for a selected booking.
  */
-public class InvoiceController {
+public class InvoiceController implements ViewLifecycle {
 
     @FXML
     private Label hotelNameLabel;
@@ -74,19 +82,32 @@ public class InvoiceController {
     @FXML
     private Label finalAmountLabel;
 
+    @FXML
+    private ComboBox<String> currencyCombo;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
     private final InvoiceService invoiceService;
     private final GuestService guestService;
     private final RoomService roomService;
     private final Settings settings;
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Invoice on screen; null while loading
+    private Invoice shownInvoice;
+
+    private static final String LOAD_TASK = "invoice.load";
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     public InvoiceController() {
-        this.invoiceService = new InvoiceService();
-        this.guestService = new GuestService();
-        this.roomService = new RoomService();
-        this.settings = Settings.getInstance();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public InvoiceController(ServiceRegistry services) {
+        this.invoiceService = services.getInvoiceService();
+        this.guestService = services.getGuestService();
+        this.roomService = services.getRoomService();
+        this.settings = services.getSettings();
     }
 
     @FXML
@@ -94,14 +115,44 @@ public class InvoiceController {
         // Set hotel name from settings
         hotelNameLabel.setText(settings.getHotelName());
 
-        // Update VAT label
-        double vatPercent = settings.getVatRate() * 100;
-        vatRateLabel.setText(String.format("VAT (%.0f%%):", vatPercent));
+        setupCurrencyCombo();
 
         // Load invoice
         loadInvoice();
     }
 
+    @Override
+    public void onShow() {
+        hotelNameLabel.setText(settings.getHotelName());
+        // Don't show the previous invoice while the next one loads
+        clearInvoice();
+        setupCurrencyCombo();
+        loadInvoice();
+    }
+
+    /**
+     * Offer the currencies amounts can be shown in, starting with the hotel currency.
+     */
+    private void setupCurrencyCombo() {
+        currencyCombo.setOnAction(null);
+        currencyCombo.setItems(FXCollections.observableArrayList(MoneyUtil.getDisplayCurrencies()));
+        currencyCombo.setValue(settings.getCurrency());
+        currencyCombo.setOnAction(e -> showAmounts());
+    }
+
+    private void clearInvoice() {
+        shownInvoice = null;
+        for (Label label : new Label[] {invoiceIdLabel, bookingIdLabel, invoiceDateLabel, bookingStatusLabel,
+                guestNameLabel, roomLabel, checkInLabel, checkOutLabel, nightsLabel,
+                subtotalLabel, vatLabel, totalLabel, refundLabel, finalAmountLabel}) {
+            label.setText("-");
+        }
+        bookingStatusLabel.setStyle("");
+        vatRateLabel.setText("VAT:");
+        refundSection.setVisible(false);
+        refundSection.setManaged(false);
+    }
+
     private void loadInvoice() {
         Booking booking = BookingListController.getSelectedBookingForInvoice();
 
@@ -111,80 +162,106 @@ public class InvoiceController {
             return;
         }
 
-        try {
-            // Generate or retrieve invoice
-            Invoice invoice = invoiceService.generateInvoice(booking.getBookingId());
-
-            // Update invoice with refund if booking was cancelled after invoice was created
-            if (booking.getStatus() == BookingStatus.CANCELLED && invoice.getRefundAmount() == 0
-                    && booking.getRefundAmount() > 0) {
-                invoice = invoiceService.updateWithRefund(booking.getBookingId(), booking.getRefundAmount());
-            }
-
-            // Populate invoice info
-            invoiceIdLabel.setText(invoice.getInvoiceId());
-            bookingIdLabel.setText(booking.getBookingId());
-            invoiceDateLabel.setText(invoice.getGeneratedAt().format(DATETIME_FORMATTER));
-
-            // Status with color
-            String status = booking.getStatus().name();
-            bookingStatusLabel.setText(status);
-            switch (booking.getStatus()) {
-                case CONFIRMED:
-                    bookingStatusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
-                    break;
-                case CANCELLED:
-                    bookingStatusLabel.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
-                    break;
-                case COMPLETED:
-                    bookingStatusLabel.setStyle("-fx-text-fill: #666666; -fx-font-weight: bold;");
-                    break;
-            }
-
-            // Guest info
-            String guestName = guestService.findById(booking.getGuestId())
-                    .map(Guest::getName)
-                    .orElse("Unknown");
-            guestNameLabel.setText(guestName);
-
-            // Room info
-            String roomInfo = roomService.findByRoomNumber(booking.getRoomNumber())
-                    .map(room -> String.format("%s (%s)", room.getRoomNumber(), room.getType().name()))
-                    .orElse(booking.getRoomNumber());
-            roomLabel.setText(roomInfo);
-
-            // Dates
-            checkInLabel.setText(booking.getCheckInDate().format(DATE_FORMATTER));
-            checkOutLabel.setText(booking.getCheckOutDate().format(DATE_FORMATTER));
-            nightsLabel.setText(String.valueOf(booking.getNumberOfNights()));
-
-            // Cost breakdown
-            String currency = settings.getCurrency();
-            subtotalLabel.setText(String.format("%s %.2f", currency, invoice.getSubtotal()));
-            vatLabel.setText(String.format("%s %.2f", currency, invoice.getVat()));
-            totalLabel.setText(String.format("%s %.2f", currency, invoice.getTotal()));
-
-            // Refund section
-            if (invoice.getRefundAmount() > 0) {
-                refundSection.setVisible(true);
-                refundSection.setManaged(true);
-                refundLabel.setText(String.format("%s %.2f", currency, invoice.getRefundAmount()));
-                finalAmountLabel.setText(String.format("%s %.2f", currency, invoice.getFinalAmount()));
-            } else {
-                refundSection.setVisible(false);
-                refundSection.setManaged(false);
-            }
-
-        } catch (Exception e) {
-            AlertUtil.showError("Error", "Failed to load invoice: " + e.getMessage());
+        BackgroundTasks.submit(LOAD_TASK, () -> loadDetails(booking),
+                details -> showInvoice(booking, details),
+                e -> AlertUtil.showError("Error", "Failed to load invoice: " + e.getMessage()),
+                loadingIndicator);
+    }
+
+    /**
+     * Generates or retrieves the invoice and looks up guest and room; runs off the FX thread.
+     */
+    private InvoiceDetails loadDetails(Booking booking) {
+        // Generate or retrieve invoice
+        Invoice invoice = invoiceService.generateInvoice(booking.getBookingId());
+
+        // Update invoice with refund if booking was cancelled after invoice was created
+        if (booking.getStatus() == BookingStatus.CANCELLED && invoice.getRefundAmount() == 0
+                && booking.getRefundAmount() > 0) {
+            invoice = invoiceService.updateWithRefund(booking.getBookingId(), booking.getRefundAmount());
+        }
+
+        String guestName = guestService.findById(booking.getGuestId())
+                .map(Guest::getName)
+                .orElse("Unknown");
+        String roomInfo = roomService.findByRoomNumber(booking.getRoomNumber())
+                .map(room -> String.format("%s (%s)", room.getRoomNumber(), room.getType().name()))
+                .orElse(booking.getRoomNumber());
+        return new InvoiceDetails(invoice, guestName, roomInfo);
+    }
+
+    private void showInvoice(Booking booking, InvoiceDetails details) {
+        Invoice invoice = details.invoice;
+
+        // Populate invoice info
+        invoiceIdLabel.setText(invoice.getInvoiceId());
+        bookingIdLabel.setText(booking.getBookingId());
+        invoiceDateLabel.setText(invoice.getGeneratedAt().format(DATETIME_FORMATTER));
+
+        // Status with color
+        String status = booking.getStatus().name();
+        bookingStatusLabel.setText(status);
+        switch (booking.getStatus()) {
+            case CONFIRMED:
+                bookingStatusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
+                break;
+            case CANCELLED:
+                bookingStatusLabel.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
+                break;
+            case COMPLETED:
+                bookingStatusLabel.setStyle("-fx-text-fill: #666666; -fx-font-weight: bold;");
+                break;
+        }
+
+        // Guest and room info
+        guestNameLabel.setText(details.guestName);
+        roomLabel.setText(details.roomInfo);
+
+        // Dates
+        checkInLabel.setText(DateUtil.formatDateIso(booking.getCheckInDate()));
+        checkOutLabel.setText(DateUtil.formatDateIso(booking.getCheckOutDate()));
+        nightsLabel.setText(String.valueOf(booking.getNumberOfNights()));
+
+        shownInvoice = invoice;
+        showAmounts();
+    }
+
+    /**
+     * Show the cost breakdown in the chosen currency, using the VAT rate recorded on the invoice.
+     */
+    private void showAmounts() {
+        Invoice invoice = shownInvoice;
+        if (invoice == null) {
+            return;
+        }
+        // Resolve the rate once for every amount
+        CurrencyConversion conversion = MoneyUtil.getDisplayConversion(currencyCombo.getValue());
+
+        vatRateLabel.setText(String.format("VAT (%.0f%%):", invoice.getVatRate() * 100));
+        subtotalLabel.setText(MoneyUtil.formatCurrency(invoice.getSubtotal(), conversion));
+        vatLabel.setText(MoneyUtil.formatCurrency(invoice.getVat(), conversion));
+        totalLabel.setText(MoneyUtil.formatCurrency(invoice.getTotal(), conversion));
+
+        // Refund section
+        if (invoice.getRefundAmount() > 0) {
+            refundSection.setVisible(true);
+            refundSection.setManaged(true);
+            refundLabel.setText(MoneyUtil.formatCurrency(invoice.getRefundAmount(), conversion));
+            finalAmountLabel.setText(MoneyUtil.formatCurrency(invoice.getFinalAmount(), conversion));
+        } else {
+            refundSection.setVisible(false);
+            refundSection.setManaged(false);
         }
     }
 
     @FXML
     private void handlePrint() {
-        AlertUtil.showInfo("Print Invoice",
-                "In a production application, this would send the invoice to a printer or generate a PDF.\n\n" +
-                        "For this demo, the invoice is displayed on screen.");
+        if (shownInvoice == null) {
+            return;
+        }
+        // For this demo the printable text is shown instead of being sent to a printer
+        AlertUtil.showInfo("Print Invoice", invoiceService.formatInvoice(shownInvoice,
+                MoneyUtil.getDisplayConversion(currencyCombo.getValue())));
     }
 
     @FXML
@@ -192,4 +269,19 @@ public class InvoiceController {
         BookingListController.clearSelectedBookingForInvoice();
         App.showBookingList();
     }
+
+    /**
+     * Invoice and display names loaded in the background.
+     */
+    private static final class InvoiceDetails {
+        final Invoice invoice;
+        final String guestName;
+        final String roomInfo;
+
+        InvoiceDetails(Invoice invoice, String guestName, String roomInfo) {
+            this.invoice = invoice;
+            this.guestName = guestName;
+            this.roomInfo = roomInfo;
+        }
+    }
 }
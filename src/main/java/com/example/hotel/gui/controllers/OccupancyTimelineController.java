@@ -0,0 +1,383 @@
+package com.example.hotel.gui.controllers;
+
+import com.example.hotel.App;
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.service.BookingService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.analytics.BookingColumns;
+import com.example.hotel.service.analytics.OccupancyAnalytics;
+import com.example.hotel.service.analytics.OccupancyTimeline;
+import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.DateUtil;
+import com.example.hotel.util.FxRepositorySync;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * Controller for the Occupancy Timeline view.
+ * Draws rooms against days on a canvas; only the rooms and days in the
+ * viewport are drawn, from an {@link OccupancyTimeline} index that is rebuilt
+ * when bookings or rooms change. Clicking a booking selects it; double-clicking
+ * opens its invoice.
+ */
+public class OccupancyTimelineController implements ViewLifecycle {
+
+    private static final String LOAD_TASK = "occupancyTimeline.load";
+
+    /** Number of days the timeline covers from its start date. */
+    private static final int DAYS = 365;
+    /** Days before today shown when the view opens. */
+    private static final int DAYS_BEFORE_TODAY = 7;
+
+    private static final double DAY_WIDTH = 28;
+    private static final double ROW_HEIGHT = 24;
+    private static final double HEADER_HEIGHT = 36;
+    private static final double ROOM_COLUMN_WIDTH = 90;
+
+    private static final Color BACKGROUND = Color.web("#FFFFFF");
+    private static final Color WEEKEND = Color.web("#F5F5F5");
+    private static final Color GRID = Color.web("#E0E0E0");
+    private static final Color TEXT = Color.web("#212121");
+    private static final Color TEXT_SECONDARY = Color.web("#757575");
+    private static final Color CONFIRMED = Color.web("#2196F3");
+    private static final Color COMPLETED = Color.web("#4CAF50");
+    private static final Color SELECTED = Color.web("#FF9800");
+    private static final Color TODAY = Color.web("#F44336");
+
+    private static final Font TEXT_FONT = Font.font(11);
+    private static final Font BOLD_FONT = Font.font(null, FontWeight.BOLD, 11);
+
+    @FXML
+    private Pane canvasHolder;
+
+    @FXML
+    private Canvas timelineCanvas;
+
+    @FXML
+    private ScrollBar horizontalScroll;
+
+    @FXML
+    private ScrollBar verticalScroll;
+
+    @FXML
+    private DatePicker startPicker;
+
+    @FXML
+    private Label selectionLabel;
+
+    @FXML
+    private Label statusLabel;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    private final ServiceRegistry services;
+    private final OccupancyAnalytics occupancy;
+    private final BookingService bookingService;
+
+    private OccupancyTimeline timeline;
+    private int startDay;
+    private String selectedBookingId;
+    private boolean redrawRequested;
+
+    public OccupancyTimelineController() {
+        this(ServiceRegistry.getInstance());
+    }
+
+    public OccupancyTimelineController(ServiceRegistry services) {
+        this.services = services;
+        this.occupancy = services.getOccupancyAnalytics();
+        this.bookingService = services.getBookingService();
+    }
+
+    @FXML
+    public void initialize() {
+        // The canvas only ever covers the viewport
+        timelineCanvas.widthProperty().bind(canvasHolder.widthProperty());
+        timelineCanvas.heightProperty().bind(canvasHolder.heightProperty());
+        timelineCanvas.widthProperty().addListener((obs, oldVal, newVal) -> updateScrollBars());
+        timelineCanvas.heightProperty().addListener((obs, oldVal, newVal) -> updateScrollBars());
+
+        horizontalScroll.valueProperty().addListener((obs, oldVal, newVal) -> requestRedraw());
+        verticalScroll.valueProperty().addListener((obs, oldVal, newVal) -> requestRedraw());
+        timelineCanvas.setOnScroll(this::handleScroll);
+        timelineCanvas.setOnMouseClicked(this::handleClick);
+
+        startPicker.setValue(LocalDate.now().minusDays(DAYS_BEFORE_TODAY));
+        startPicker.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                startDay = (int) newVal.toEpochDay();
+                horizontalScroll.setValue(0);
+                requestRedraw();
+            }
+        });
+        startDay = (int) startPicker.getValue().toEpochDay();
+
+        setupLiveUpdates();
+        loadTimeline();
+    }
+
+    /**
+     * Rebuild the timeline whenever bookings or rooms change.
+     */
+    private void setupLiveUpdates() {
+        FxRepositorySync.attach(services.getBookingRepository(), timelineCanvas, events -> loadTimeline());
+        FxRepositorySync.attach(services.getRoomRepository(), timelineCanvas, events -> loadTimeline());
+    }
+
+    @Override
+    public void onShow() {
+        loadTimeline();
+    }
+
+    private void loadTimeline() {
+        BackgroundTasks.submit(LOAD_TASK, occupancy::timeline,
+            this::showTimeline,
+            e -> updateStatus("Error loading timeline: " + e.getMessage()),
+            loadingIndicator);
+    }
+
+    private void showTimeline(OccupancyTimeline loaded) {
+        timeline = loaded;
+        updateStatus(loaded.roomCount() + " rooms, " + DAYS + " days");
+        updateScrollBars();
+        requestRedraw();
+    }
+
+    private void updateScrollBars() {
+        double visibleWidth = Math.max(0, timelineCanvas.getWidth() - ROOM_COLUMN_WIDTH);
+        double visibleHeight = Math.max(0, timelineCanvas.getHeight() - HEADER_HEIGHT);
+        int rooms = timeline == null ? 0 : timeline.roomCount();
+
+        configure(horizontalScroll, DAYS * DAY_WIDTH, visibleWidth, DAY_WIDTH);
+        configure(verticalScroll, rooms * ROW_HEIGHT, visibleHeight, ROW_HEIGHT);
+        requestRedraw();
+    }
+
+    private static void configure(ScrollBar scrollBar, double content, double visible, double unit) {
+        double max = Math.max(0, content - visible);
+        scrollBar.setMax(max);
+        scrollBar.setVisibleAmount(content <= 0 ? 0 : max * visible / content);
+        scrollBar.setUnitIncrement(unit);
+        scrollBar.setBlockIncrement(Math.max(unit, visible - unit));
+        scrollBar.setValue(Math.min(scrollBar.getValue(), max));
+    }
+
+    /**
+     * Draw at most once per pulse, however many scroll events arrive.
+     */
+    private void requestRedraw() {
+        if (!redrawRequested) {
+            redrawRequested = true;
+            Platform.runLater(() -> {
+                redrawRequested = false;
+                draw();
+            });
+        }
+    }
+
+    private void draw() {
+        GraphicsContext g = timelineCanvas.getGraphicsContext2D();
+        double width = timelineCanvas.getWidth();
+        double height = timelineCanvas.getHeight();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        if (timeline == null) {
+            return;
+        }
+
+        // Viewport in days and rooms
+        double scrollX = horizontalScroll.getValue();
+        double scrollY = verticalScroll.getValue();
+        int firstDay = (int) (scrollX / DAY_WIDTH);
+        int lastDay = Math.min(DAYS, (int) Math.ceil((scrollX + width - ROOM_COLUMN_WIDTH) / DAY_WIDTH));
+        int firstLine = (int) (scrollY / ROW_HEIGHT);
+        int lastLine = Math.min(timeline.roomCount(),
+            (int) Math.ceil((scrollY + height - HEADER_HEIGHT) / ROW_HEIGHT));
+
+        // Day columns: weekend shading and grid lines
+        int today = (int) LocalDate.now().toEpochDay();
+        for (int d = firstDay; d < lastDay; d++) {
+            double x = dayX(d, scrollX);
+            DayOfWeek weekday = LocalDate.ofEpochDay(startDay + d).getDayOfWeek();
+            if (weekday == DayOfWeek.SATURDAY || weekday == DayOfWeek.SUNDAY) {
+                g.setFill(WEEKEND);
+                g.fillRect(x, HEADER_HEIGHT, DAY_WIDTH, height - HEADER_HEIGHT);
+            }
+            g.setStroke(GRID);
+            g.strokeLine(x + 0.5, HEADER_HEIGHT, x + 0.5, height);
+        }
+
+        // Bookings of the visible rooms, cut to the visible days
+        int fromDay = startDay + firstDay;
+        int toDay = startDay + lastDay;
+        BookingColumns columns = timeline.getColumns();
+        g.setTextBaseline(VPos.CENTER);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setFont(TEXT_FONT);
+        for (int line = firstLine; line < lastLine; line++) {
+            double y = lineY(line, scrollY);
+            g.setStroke(GRID);
+            g.strokeLine(ROOM_COLUMN_WIDTH, y + ROW_HEIGHT - 0.5, width, y + ROW_HEIGHT - 0.5);
+            timeline.forEach(line, fromDay, toDay, row -> {
+                double x1 = Math.max(ROOM_COLUMN_WIDTH, dayX(columns.checkInDay(row) - startDay, scrollX));
+                double x2 = Math.min(width, dayX(columns.checkOutDay(row) - startDay, scrollX));
+                String bookingId = columns.bookingId(row);
+                g.setFill(bookingId.equals(selectedBookingId) ? SELECTED
+                    : columns.status(row) == BookingStatus.COMPLETED ? COMPLETED : CONFIRMED);
+                g.fillRoundRect(x1 + 1, y + 3, Math.max(1, x2 - x1 - 2), ROW_HEIGHT - 6, 6, 6);
+                if (x2 - x1 > 70) {
+                    g.setFill(Color.WHITE);
+                    g.fillText(bookingId, x1 + 5, y + ROW_HEIGHT / 2, x2 - x1 - 10);
+                }
+            });
+        }
+
+        if (today >= fromDay && today < toDay) {
+            double x = dayX(today - startDay, scrollX) + DAY_WIDTH / 2;
+            g.setStroke(TODAY);
+            g.strokeLine(x, HEADER_HEIGHT, x, height);
+        }
+
+        // Header and room column are drawn last so bars scroll beneath them
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, HEADER_HEIGHT);
+        g.fillRect(0, HEADER_HEIGHT, ROOM_COLUMN_WIDTH, height - HEADER_HEIGHT);
+        g.setTextAlign(TextAlignment.CENTER);
+        for (int d = firstDay; d < lastDay; d++) {
+            double x = dayX(d, scrollX);
+            if (x < ROOM_COLUMN_WIDTH) {
+                continue;
+            }
+            LocalDate date = LocalDate.ofEpochDay(startDay + d);
+            g.setFill(startDay + d == today ? TODAY : TEXT_SECONDARY);
+            g.setFont(TEXT_FONT);
+            g.fillText(date.getDayOfWeek().getDisplayName(TextStyle.NARROW, Locale.getDefault()),
+                x + DAY_WIDTH / 2, HEADER_HEIGHT * 0.3);
+            g.setFont(date.getDayOfMonth() == 1 ? BOLD_FONT : TEXT_FONT);
+            String day = date.getDayOfMonth() == 1
+                ? date.getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault())
+                : String.valueOf(date.getDayOfMonth());
+            g.fillText(day, x + DAY_WIDTH / 2, HEADER_HEIGHT * 0.72, DAY_WIDTH);
+        }
+        g.setTextAlign(TextAlignment.LEFT);
+        for (int line = firstLine; line < lastLine; line++) {
+            double y = lineY(line, scrollY);
+            if (y < HEADER_HEIGHT) {
+                continue;
+            }
+            g.setFill(TEXT);
+            g.setFont(BOLD_FONT);
+            g.fillText(timeline.roomNumber(line), 8, y + ROW_HEIGHT / 2, 40);
+            g.setFill(TEXT_SECONDARY);
+            g.setFont(TEXT_FONT);
+            g.fillText(timeline.roomType(line).getDisplayName(), 44, y + ROW_HEIGHT / 2, ROOM_COLUMN_WIDTH - 48);
+        }
+        g.setStroke(GRID);
+        g.strokeLine(0, HEADER_HEIGHT - 0.5, width, HEADER_HEIGHT - 0.5);
+        g.strokeLine(ROOM_COLUMN_WIDTH - 0.5, 0, ROOM_COLUMN_WIDTH - 0.5, height);
+    }
+
+    private static double dayX(int dayOffset, double scrollX) {
+        return ROOM_COLUMN_WIDTH + dayOffset * DAY_WIDTH - scrollX;
+    }
+
+    private static double lineY(int line, double scrollY) {
+        return HEADER_HEIGHT + line * ROW_HEIGHT - scrollY;
+    }
+
+    private void handleScroll(ScrollEvent event) {
+        // Shift or a sideways swipe scrolls through days; otherwise through rooms
+        double dx = event.getDeltaX();
+        double dy = event.getDeltaY();
+        if (event.isShiftDown() && dx == 0) {
+            dx = dy;
+            dy = 0;
+        }
+        horizontalScroll.setValue(clamp(horizontalScroll.getValue() - dx, horizontalScroll.getMax()));
+        verticalScroll.setValue(clamp(verticalScroll.getValue() - dy, verticalScroll.getMax()));
+        event.consume();
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (timeline == null || event.getButton() != MouseButton.PRIMARY
+                || event.getX() < ROOM_COLUMN_WIDTH || event.getY() < HEADER_HEIGHT) {
+            return;
+        }
+        int line = (int) ((event.getY() - HEADER_HEIGHT + verticalScroll.getValue()) / ROW_HEIGHT);
+        int dayOffset = (int) ((event.getX() - ROOM_COLUMN_WIDTH + horizontalScroll.getValue()) / DAY_WIDTH);
+        if (line >= timeline.roomCount() || dayOffset >= DAYS) {
+            return;
+        }
+
+        BookingColumns columns = timeline.getColumns();
+        int row = timeline.bookingAt(line, startDay + dayOffset);
+        if (row < 0) {
+            selectedBookingId = null;
+            selectionLabel.setText("Room " + timeline.roomNumber(line) + " is free on "
+                + DateUtil.formatDateIso(LocalDate.ofEpochDay(startDay + dayOffset)));
+        } else {
+            selectedBookingId = columns.bookingId(row);
+            selectionLabel.setText("Booking " + selectedBookingId + " - Room " + timeline.roomNumber(line)
+                + ", " + DateUtil.formatDateIso(LocalDate.ofEpochDay(columns.checkInDay(row)))
+                + " to " + DateUtil.formatDateIso(LocalDate.ofEpochDay(columns.checkOutDay(row)))
+                + " (" + columns.status(row) + ")");
+            if (event.getClickCount() == 2) {
+                openInvoice(selectedBookingId);
+            }
+        }
+        requestRedraw();
+    }
+
+    private void openInvoice(String bookingId) {
+        Booking booking = bookingService.findById(bookingId).orElse(null);
+        if (booking == null) {
+            AlertUtil.showWarning("Not Found", "Booking " + bookingId + " no longer exists.");
+            return;
+        }
+        BookingListController.setSelectedBookingForInvoice(booking);
+        updateStatus("Opening invoice for booking " + bookingId + "...");
+        App.showInvoice();
+    }
+
+    @FXML
+    private void handleToday() {
+        startPicker.setValue(LocalDate.now().minusDays(DAYS_BEFORE_TODAY));
+        horizontalScroll.setValue(0);
+    }
+
+    @FXML
+    private void handleBack() {
+        App.showDashboard();
+    }
+
+    private void updateStatus(String message) {
+        statusLabel.setText(message);
+    }
+}
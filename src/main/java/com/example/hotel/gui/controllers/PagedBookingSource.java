@@ -0,0 +1,136 @@
+package com.example.hotel.gui.controllers;
+
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.service.projection.BookingPage;
+import com.example.hotel.service.projection.BookingRowProjection;
+import com.example.hotel.service.projection.BookingSort;
+import com.example.hotel.util.BackgroundTasks;
+import javafx.scene.Node;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pages of booking rows for the booking table, fetched in the background.
+ *
+ * Only the page on screen is read from the projection, with filter and sort
+ * applied there. The last few pages of the current query are kept, and after a
+ * page is shown its neighbours are prefetched so paging back and forth is
+ * instant. A kept page is used only while the projection has not changed since
+ * it was read. Must be used on the FX thread.
+ */
+final class PagedBookingSource {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final int CACHED_PAGES = 8;
+    private static final String LOAD_TASK = "bookingList.page";
+    private static final String PREFETCH_TASK = "bookingList.prefetch.";
+
+    private final BookingRowProjection projection;
+    private final Map<Integer, BookingPage> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BookingPage> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    private BookingStatus status;
+    private BookingSort sort;
+    private boolean descending;
+    // Bumped on every query change so results of an older query are dropped
+    private int generation;
+
+    PagedBookingSource(BookingRowProjection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Set the filter and sort order.
+     * @return true if the query changed and paging should restart from the first page
+     */
+    boolean setQuery(BookingStatus status, BookingSort sort, boolean descending) {
+        if (this.status == status && this.sort == sort && this.descending == descending) {
+            return false;
+        }
+        this.status = status;
+        this.sort = sort;
+        this.descending = descending;
+        pages.clear();
+        generation++;
+        return true;
+    }
+
+    /** Status filter of the current query, or null for all bookings. */
+    BookingStatus getStatus() {
+        return status;
+    }
+
+    /** Sort order of the current query, or null for repository order. */
+    BookingSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Number of pages needed for a result of the given size; at least one.
+     */
+    static int pageCount(int totalCount) {
+        return Math.max(1, (totalCount + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    /**
+     * Show a page, from the kept pages if it is still current, otherwise read in the background.
+     */
+    void load(int pageIndex, Consumer<BookingPage> onLoaded, Consumer<Throwable> onFailure,
+              Node busyIndicator) {
+        BookingPage kept = pages.get(pageIndex);
+        if (kept != null && kept.getVersion() == projection.getVersion()) {
+            BackgroundTasks.cancel(LOAD_TASK);
+            onLoaded.accept(kept);
+            prefetchAround(pageIndex, kept.getTotalCount());
+            return;
+        }
+
+        int expected = generation;
+        BackgroundTasks.submit(LOAD_TASK, () -> read(pageIndex),
+                page -> {
+                    if (expected == generation) {
+                        pages.put(pageIndex, page);
+                        onLoaded.accept(page);
+                        prefetchAround(pageIndex, page.getTotalCount());
+                    }
+                },
+                onFailure, busyIndicator);
+    }
+
+    private void prefetchAround(int pageIndex, int totalCount) {
+        int count = pageCount(totalCount);
+        prefetch(pageIndex + 1, count, "next");
+        prefetch(pageIndex - 1, count, "previous");
+    }
+
+    private void prefetch(int pageIndex, int pageCount, String slot) {
+        if (pageIndex < 0 || pageIndex >= pageCount) {
+            return;
+        }
+        BookingPage kept = pages.get(pageIndex);
+        if (kept != null && kept.getVersion() == projection.getVersion()) {
+            return;
+        }
+        int expected = generation;
+        BackgroundTasks.submit(PREFETCH_TASK + slot, () -> read(pageIndex),
+                page -> {
+                    if (expected == generation) {
+                        pages.put(pageIndex, page);
+                    }
+                },
+                // A failed prefetch is retried when the page is shown
+                e -> { });
+    }
+
+    private BookingPage read(int pageIndex) {
+        return projection.getPage(status, sort, descending, pageIndex * PAGE_SIZE, PAGE_SIZE);
+    }
+
+}
@@ -9,7 +9,7 @@ import javafx.scene.control.Label;
  * Controller for the Portal Selection screen.
  * Entry point for the application - allows choosing between Guest and Staff portals.
  */
-public class PortalSelectionController {
+public class PortalSelectionController implements ViewLifecycle {
 
     @FXML
     private Label hotelNameLabel;
@@ -25,6 +25,11 @@ public class PortalSelectionController {
         hotelNameLabel.setText(settings.getHotelName());
     }
 
+    @Override
+    public void onShow() {
+        hotelNameLabel.setText(settings.getHotelName());
+    }
+
     @FXML
     private void handleGuestPortal() {
         App.showGuestPortalHome();
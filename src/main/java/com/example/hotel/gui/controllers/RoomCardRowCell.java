@@ -0,0 +1,111 @@
+package com.example.hotel.gui.controllers;
+
+import com.example.hotel.model.Room;
+import com.example.hotel.util.MoneyUtil;
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * One row of room cards in the virtualized room grid.
+ * The ListView only creates cells for the visible rows and recycles them while
+ * scrolling and across searches; each cell keeps its card nodes and only
+ * rewrites their labels.
+ */
+class RoomCardRowCell extends ListCell<List<Room>> {
+
+    static final double CARD_WIDTH = 220;
+    static final double CARD_GAP = 20;
+
+    private static final PseudoClass NON_REFUNDABLE = PseudoClass.getPseudoClass("non-refundable");
+
+    private final Consumer<Room> onBook;
+    private final HBox row = new HBox(CARD_GAP);
+    private final List<RoomCard> cards = new ArrayList<>();
+
+    RoomCardRowCell(Consumer<Room> onBook) {
+        this.onBook = onBook;
+        row.setAlignment(Pos.CENTER);
+        row.setPadding(new Insets(CARD_GAP / 2, 0, CARD_GAP / 2, 0));
+        getStyleClass().add("room-grid-cell");
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    @Override
+    protected void updateItem(List<Room> rooms, boolean empty) {
+        super.updateItem(rooms, empty);
+        if (empty || rooms == null) {
+            setGraphic(null);
+            return;
+        }
+        while (cards.size() < rooms.size()) {
+            RoomCard card = new RoomCard();
+            cards.add(card);
+            row.getChildren().add(card);
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            RoomCard card = cards.get(i);
+            boolean used = i < rooms.size();
+            card.setVisible(used);
+            card.setManaged(used);
+            card.update(used ? rooms.get(i) : null);
+        }
+        setGraphic(row);
+    }
+
+    /**
+     * Card showing one room; its nodes are created once and reused for other rooms.
+     */
+    private final class RoomCard extends VBox {
+        private final Label roomNumber = new Label();
+        private final Label roomType = new Label();
+        private final Label price = new Label();
+        private final Label refundable = new Label();
+        private Room room;
+
+        RoomCard() {
+            super(10);
+            getStyleClass().add("room-card");
+            setAlignment(Pos.CENTER);
+            setPadding(new Insets(20));
+            setPrefWidth(CARD_WIDTH);
+
+            roomNumber.getStyleClass().add("room-card-title");
+            roomType.getStyleClass().add("room-card-type");
+            price.getStyleClass().add("room-card-price");
+            refundable.getStyleClass().add("room-card-refundable");
+
+            Button bookButton = new Button("Book This Room");
+            bookButton.getStyleClass().addAll("button", "button-success");
+            bookButton.setOnAction(e -> {
+                if (room != null) {
+                    onBook.accept(room);
+                }
+            });
+
+            getChildren().addAll(roomNumber, roomType, price, refundable, bookButton);
+        }
+
+        void update(Room room) {
+            this.room = room;
+            if (room == null) {
+                return;
+            }
+            roomNumber.setText("Room " + room.getRoomNumber());
+            roomType.setText(room.getType().toString());
+            price.setText(MoneyUtil.formatCurrency(room.getPricePerNight()) + " / night");
+            refundable.setText(room.isRefundable() ? "Refundable" : "Non-refundable");
+            refundable.pseudoClassStateChanged(NON_REFUNDABLE, !room.isRefundable());
+        }
+    }
+}
@@ -4,7 +4,12 @@ import com.example.hotel.App;
 import com.example.hotel.model.Room;
 import com.example.hotel.model.enums.RoomType;
 import com.example.hotel.service.RoomService;
+import com.example.hotel.service.ServiceRegistry;
+import com.example.hotel.service.search.RoomSearchIndex;
 import com.example.hotel.util.AlertUtil;
+import com.example.hotel.util.BackgroundTasks;
+import com.example.hotel.util.DebouncedSearch;
+import com.example.hotel.util.FxRepositorySync;
 import com.example.hotel.util.MoneyUtil;
 import com.example.hotel.util.ValidationUtil;
 import com.example.hotel.util.ValidationUtil.ValidationResult;
@@ -15,12 +20,17 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 /**
  * Controller for the Room Management view.
  * Handles CRUD operations for rooms.
  */
-public class RoomManagementController {
+public class RoomManagementController implements ViewLifecycle {
+
+    private static final String SEARCH_TASK = "roomManagement.search";
+    private static final String SAVE_TASK = "roomManagement.save";
 
     @FXML
     private TableView<Room> roomTable;
@@ -70,12 +80,23 @@ public class RoomManagementController {
     @FXML
     private Button deleteBtn;
 
+    private final ServiceRegistry services;
     private final RoomService roomService;
     private final ObservableList<Room> roomList;
     private Room selectedRoom;
+    // A save is running; the form buttons stay disabled until it is done
+    private boolean saving;
+    // Search the list currently shows; empty for all rooms
+    private String activeSearch = "";
+    private DebouncedSearch<Room> roomSearch;
 
     public RoomManagementController() {
-        this.roomService = new RoomService();
+        this(ServiceRegistry.getInstance());
+    }
+
+    public RoomManagementController(ServiceRegistry services) {
+        this.services = services;
+        this.roomService = services.getRoomService();
         this.roomList = FXCollections.observableArrayList();
     }
 
@@ -84,6 +105,8 @@ public class RoomManagementController {
         setupTableColumns();
         setupComboBox();
         setupTableSelection();
+        setupLiveUpdates();
+        setupSearch();
         loadRooms();
         updateButtonStates();
     }
@@ -135,7 +158,49 @@ public class RoomManagementController {
         );
     }
 
+    /**
+     * Apply room changes to the list as they happen, from this or any other screen.
+     */
+    private void setupLiveUpdates() {
+        FxRepositorySync.attach(services.getRoomRepository(), roomTable, events -> {
+            if (!FxRepositorySync.applyChanges(roomList, events, Room::getRoomNumber, this::matchesActiveSearch)) {
+                reloadRooms();
+            }
+        });
+    }
+
+    /**
+     * Search as the user types; results arrive in the background.
+     */
+    private void setupSearch() {
+        roomSearch = new DebouncedSearch<>(SEARCH_TASK,
+            term -> term.isEmpty() ? roomService.getAllRooms() : roomService.searchByRoomNumber(term),
+            RoomSearchIndex::matches,
+            () -> roomList,
+            this::showSearchResults,
+            e -> updateStatus("Search error: " + e.getMessage()));
+        roomSearch.bind(searchField);
+    }
+
+    @Override
+    public void onShow() {
+        reloadRooms();
+    }
+
+    private void reloadRooms() {
+        if (activeSearch.isEmpty()) {
+            loadRooms();
+        } else {
+            roomList.setAll(roomService.searchByRoomNumber(activeSearch));
+        }
+    }
+
+    private boolean matchesActiveSearch(Room room) {
+        return RoomSearchIndex.matches(room, activeSearch);
+    }
+
     private void loadRooms() {
+        activeSearch = "";
         try {
             List<Room> rooms = roomService.getAllRooms();
             roomList.setAll(rooms);
@@ -156,8 +221,9 @@ public class RoomManagementController {
 
     private void updateButtonStates() {
         boolean hasSelection = selectedRoom != null;
-        updateBtn.setDisable(!hasSelection);
-        deleteBtn.setDisable(!hasSelection);
+        addBtn.setDisable(saving);
+        updateBtn.setDisable(saving || !hasSelection);
+        deleteBtn.setDisable(saving || !hasSelection);
         roomNumberField.setEditable(selectedRoom == null);
     }
 
@@ -186,22 +252,21 @@ public class RoomManagementController {
             return;
         }
 
-        try {
-            Room room = new Room(
-                roomNumber,
-                type,
-                price,
-                availableCheck.isSelected(),
-                refundableCheck.isSelected()
-            );
+        Room room = new Room(
+            roomNumber,
+            type,
+            price,
+            availableCheck.isSelected(),
+            refundableCheck.isSelected()
+        );
+        save(() -> {
             roomService.addRoom(room);
-            loadRooms();
+            return room;
+        }, added -> {
             handleClear();
             AlertUtil.showSuccess("Room " + roomNumber + " added successfully");
             updateStatus("Room added: " + roomNumber);
-        } catch (IllegalArgumentException e) {
-            AlertUtil.showError("Error", e.getMessage());
-        }
+        }, e -> AlertUtil.showError("Error", e.getMessage()));
     }
 
     @FXML
@@ -232,19 +297,19 @@ public class RoomManagementController {
             return;
         }
 
-        try {
-            selectedRoom.setType(type);
-            selectedRoom.setPricePerNight(price);
-            selectedRoom.setAvailable(availableCheck.isSelected());
-            selectedRoom.setRefundable(refundableCheck.isSelected());
+        Room room = selectedRoom;
+        room.setType(type);
+        room.setPricePerNight(price);
+        room.setAvailable(availableCheck.isSelected());
+        room.setRefundable(refundableCheck.isSelected());
 
-            roomService.updateRoom(selectedRoom);
-            loadRooms();
+        save(() -> {
+            roomService.updateRoom(room);
+            return room;
+        }, updated -> {
             AlertUtil.showSuccess("Room updated successfully");
-            updateStatus("Room updated: " + selectedRoom.getRoomNumber());
-        } catch (IllegalArgumentException e) {
-            AlertUtil.showError("Error", e.getMessage());
-        }
+            updateStatus("Room updated: " + updated.getRoomNumber());
+        }, e -> AlertUtil.showError("Error", e.getMessage()));
     }
 
     @FXML
@@ -260,23 +325,41 @@ public class RoomManagementController {
         );
 
         if (confirmed) {
-            try {
-                String roomNumber = selectedRoom.getRoomNumber();
-                boolean deleted = roomService.deleteRoom(roomNumber);
+            String roomNumber = selectedRoom.getRoomNumber();
+            save(() -> roomService.deleteRoom(roomNumber), deleted -> {
                 if (deleted) {
-                    loadRooms();
                     handleClear();
                     AlertUtil.showSuccess("Room " + roomNumber + " deleted successfully");
                     updateStatus("Room deleted: " + roomNumber);
                 } else {
                     AlertUtil.showError("Error", "Failed to delete room");
                 }
-            } catch (Exception e) {
-                AlertUtil.showError("Error", "Failed to delete room: " + e.getMessage());
-            }
+            }, e -> AlertUtil.showError("Error", "Failed to delete room: " + e.getMessage()));
         }
     }
 
+    /**
+     * Write a change in the background, keeping the form buttons disabled
+     * until it is done so a change cannot be submitted twice.
+     */
+    private <T> void save(Callable<T> work, Consumer<T> onSaved, Consumer<Throwable> onFailure) {
+        saving = true;
+        updateButtonStates();
+        updateStatus("Saving...");
+        BackgroundTasks.submit(SAVE_TASK, work,
+            result -> {
+                saving = false;
+                updateButtonStates();
+                onSaved.accept(result);
+            },
+            e -> {
+                saving = false;
+                updateButtonStates();
+                updateStatus("Error: " + e.getMessage());
+                onFailure.accept(e);
+            });
+    }
+
     @FXML
     private void handleClear() {
         roomNumberField.clear();
@@ -293,19 +376,16 @@ public class RoomManagementController {
 
     @FXML
     private void handleSearch() {
-        String searchTerm = ValidationUtil.clean(searchField.getText());
+        roomSearch.searchNow(searchField.getText());
+    }
 
+    private void showSearchResults(String searchTerm, List<Room> results) {
+        activeSearch = searchTerm;
+        roomList.setAll(results);
         if (searchTerm.isEmpty()) {
-            loadRooms();
-            return;
-        }
-
-        try {
-            List<Room> results = roomService.searchByRoomNumber(searchTerm);
-            roomList.setAll(results);
+            updateStatus("Loaded " + results.size() + " rooms");
+        } else {
             updateStatus("Found " + results.size() + " room(s)");
-        } catch (Exception e) {
-            updateStatus("Search error: " + e.getMessage());
         }
     }
 
@@ -0,0 +1,15 @@
+package com.example.hotel.gui.controllers;
+
+/**
+ * Implemented by controllers whose views can be kept and shown again.
+ * App caches the view of such a controller after the first load and calls
+ * {@link #onShow()} each time the cached view is shown again.
+ */
+public interface ViewLifecycle {
+
+    /**
+     * Called on the FX thread when a cached view is shown again; bring the
+     * displayed data up to date.
+     */
+    void onShow();
+}
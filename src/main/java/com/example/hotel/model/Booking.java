@@ -11,6 +11,8 @@ public class Booking extends AbstractEntity {
     private LocalDate checkOutDate;
     private BookingStatus status;
     private double totalCost;
+    // Price of the nights before VAT when booked; 0 for bookings saved before it was recorded
+    private double subtotal;
     private double refundAmount;
 
     // Default constructor for JSON deserialization
@@ -92,6 +94,14 @@ public class Booking extends AbstractEntity {
         this.totalCost = totalCost;
     }
 
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(double subtotal) {
+        this.subtotal = subtotal;
+    }
+
     public double getRefundAmount() {
         return refundAmount;
     }
@@ -120,6 +130,7 @@ public class Booking extends AbstractEntity {
                 ", checkOutDate=" + checkOutDate +
                 ", status=" + status +
                 ", totalCost=" + totalCost +
+                ", subtotal=" + subtotal +
                 ", refundAmount=" + refundAmount +
                 '}';
     }
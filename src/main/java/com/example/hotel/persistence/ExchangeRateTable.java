@@ -0,0 +1,68 @@
+package com.example.hotel.persistence;
+
+import com.example.hotel.util.CurrencyConversion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Immutable table of exchange rates relative to a base currency.
+ * Loaded once by {@link ExchangeRates} and shared; replaced as a whole on reload.
+ */
+public final class ExchangeRateTable {
+
+    private final String baseCurrency;
+    private final Map<String, Double> rates;
+
+    /**
+     * Creates a rate table.
+     *
+     * @param baseCurrency the currency the rates are quoted against
+     * @param rates        units of each currency per unit of the base currency
+     */
+    public ExchangeRateTable(String baseCurrency, Map<String, Double> rates) {
+        Map<String, Double> copy = new LinkedHashMap<>(rates);
+        copy.put(baseCurrency, 1.0);
+        this.baseCurrency = baseCurrency;
+        this.rates = Collections.unmodifiableMap(copy);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Returns all currency codes with a known rate.
+     */
+    public List<String> getCurrencies() {
+        return new ArrayList<>(rates.keySet());
+    }
+
+    /**
+     * Checks whether a rate is known for the currency.
+     */
+    public boolean supports(String currencyCode) {
+        return rates.containsKey(currencyCode);
+    }
+
+    /**
+     * Resolves the conversion from one currency to another.
+     *
+     * @throws IllegalArgumentException if either currency has no rate
+     */
+    public CurrencyConversion conversion(String fromCurrency, String toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return CurrencyConversion.identity(toCurrency);
+        }
+        Double from = rates.get(fromCurrency);
+        Double to = rates.get(toCurrency);
+        if (from == null || to == null) {
+            throw new IllegalArgumentException(
+                "No exchange rate from " + fromCurrency + " to " + toCurrency);
+        }
+        return new CurrencyConversion(toCurrency, to / from);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.hotel.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Singleton holder for exchange rates loaded from data/exchange-rates.json.
+ * The rates are published as an immutable {@link ExchangeRateTable}; if the
+ * file is missing only the hotel currency is available. Rates that are missing,
+ * zero, negative or not finite are left out, so their currencies are not offered.
+ */
+public final class ExchangeRates {
+
+    private static final Path RATES_FILE = Paths.get("data", "exchange-rates.json");
+
+    private static volatile ExchangeRates instance;
+
+    private volatile ExchangeRateTable table;
+
+    private ExchangeRates() {
+        this.table = load();
+    }
+
+    /**
+     * Returns the singleton instance of ExchangeRates.
+     */
+    public static ExchangeRates getInstance() {
+        ExchangeRates result = instance;
+        if (result == null) {
+            synchronized (ExchangeRates.class) {
+                result = instance;
+                if (result == null) {
+                    result = new ExchangeRates();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the rate table from the JSON file.
+     */
+    private static ExchangeRateTable load() {
+        String hotelCurrency = Settings.getInstance().getCurrency();
+        try {
+            if (Files.exists(RATES_FILE)) {
+                String json = Files.readString(RATES_FILE);
+                if (json != null && !json.isBlank()) {
+                    RatesData data = JsonUtils.fromJson(json, RatesData.class);
+                    if (data != null && data.rates != null) {
+                        String base = data.base != null ? data.base : hotelCurrency;
+                        return new ExchangeRateTable(base, validRates(data.rates));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Fall back to the hotel currency only
+        }
+        return new ExchangeRateTable(hotelCurrency, Map.of());
+    }
+
+    /**
+     * Returns the usable rates, skipping those that cannot convert an amount.
+     */
+    private static Map<String, Double> validRates(Map<String, Double> rates) {
+        Map<String, Double> valid = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> entry : rates.entrySet()) {
+            Double rate = entry.getValue();
+            if (entry.getKey() != null && rate != null && Double.isFinite(rate) && rate > 0) {
+                valid.put(entry.getKey(), rate);
+            } else {
+                System.err.println("Ignoring invalid exchange rate for " + entry.getKey() + ": " + rate);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Reloads rates from file and publishes the new table.
+     */
+    public void reload() {
+        table = load();
+    }
+
+    /**
+     * Returns the current rate table.
+     */
+    public ExchangeRateTable getTable() {
+        return table;
+    }
+
+    /**
+     * Internal class for JSON serialization.
+     */
+    private static class RatesData {
+        String base;
+        Map<String, Double> rates;
+    }
+}
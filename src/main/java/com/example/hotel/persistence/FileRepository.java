@@ -7,12 +7,23 @@ import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
  * Generic file-based repository implementation using JSON storage.
+ * Registered {@link RepositoryListener}s are told about every change, and
+ * {@link UniqueIndex}es give O(1) lookups by derived keys.
+ *
+ * All access is synchronized on the repository. Listeners are called after the
+ * lock is released, so they may read the repository (or take their own locks)
+ * without risk of deadlock.
  *
  * @param <T>  the entity type
  * @param <ID> the ID type
@@ -22,7 +33,9 @@ public class FileRepository<T, ID> implements Repository<T, ID> {
     private final Path filePath;
     private final Function<T, ID> idExtractor;
     private final Type listType;
-    private final List<T> cache;
+    private final Map<ID, T> cache;
+    private final List<RepositoryListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, UniqueIndex<T, ?>> indexes = new LinkedHashMap<>();
 
     /**
      * Creates a new FileRepository.
@@ -35,7 +48,7 @@ public class FileRepository<T, ID> implements Repository<T, ID> {
         this.filePath = filePath;
         this.idExtractor = idExtractor;
         this.listType = TypeToken.getParameterized(List.class, elementType).getType();
-        this.cache = new ArrayList<>();
+        this.cache = new LinkedHashMap<>();
         load();
     }
 
@@ -44,13 +57,21 @@ public class FileRepository<T, ID> implements Repository<T, ID> {
      */
     private void load() {
         cache.clear();
+        indexes.values().forEach(UniqueIndex::clear);
         try {
             if (Files.exists(filePath)) {
                 String json = Files.readString(filePath);
                 if (json != null && !json.isBlank()) {
                     List<T> loaded = JsonUtils.fromJson(json, listType);
                     if (loaded != null) {
-                        cache.addAll(loaded);
+                        for (T entity : loaded) {
+                            cache.put(idExtractor.apply(entity), entity);
+                        }
+                        for (T entity : cache.values()) {
+                            for (UniqueIndex<T, ?> index : indexes.values()) {
+                                index.load(entity);
+                            }
+                        }
                     }
                 }
             }
@@ -65,7 +86,7 @@ public class FileRepository<T, ID> implements Repository<T, ID> {
     private void persist() {
         try {
             Files.createDirectories(filePath.getParent());
-            String json = JsonUtils.toJson(cache);
+            String json = JsonUtils.toJson(new ArrayList<>(cache.values()));
             Files.writeString(filePath, json);
         } catch (IOException e) {
             throw new RuntimeException("Failed to save data to " + filePath, e);
@@ -76,58 +97,176 @@ public class FileRepository<T, ID> implements Repository<T, ID> {
      * Reloads data from file (discards unsaved changes).
      */
     public void refresh() {
-        load();
+        synchronized (this) {
+            load();
+        }
+        fire(List.of(new RepositoryEvent<>(RepositoryEvent.Type.RELOADED, null)));
+    }
+
+    /**
+     * Registers a listener for changes to this repository.
+     */
+    public void addListener(RepositoryListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered listener.
+     */
+    public void removeListener(RepositoryListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the unique index with the given name, creating it over the
+     * current contents on first use. Later calls with the same name return the
+     * existing index and ignore the extractor.
+     * Existing entities with duplicate keys are tolerated (the first one is
+     * indexed); new saves that would create a duplicate are rejected.
+     *
+     * @param name         index name, also used in error messages (e.g. "Email")
+     * @param keyExtractor derives the key of an entity, or null to leave it unindexed
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <K> UniqueIndex<T, K> uniqueIndex(String name, Function<T, K> keyExtractor) {
+        UniqueIndex<T, K> index = (UniqueIndex<T, K>) indexes.get(name);
+        if (index == null) {
+            index = new UniqueIndex<>(this, name, keyExtractor);
+            for (T entity : cache.values()) {
+                index.load(entity);
+            }
+            indexes.put(name, index);
+        }
+        return index;
+    }
+
+    private void checkUnique(Collection<T> entities) {
+        for (UniqueIndex<T, ?> index : indexes.values()) {
+            index.check(entities, idExtractor);
+        }
+    }
+
+    private void fire(List<RepositoryEvent<T>> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (RepositoryListener<T> listener : listeners) {
+            listener.onChange(events);
+        }
+    }
+
+    private static <T> RepositoryEvent<T> event(T previous, T entity) {
+        return new RepositoryEvent<>(previous == null
+                ? RepositoryEvent.Type.INSERTED : RepositoryEvent.Type.UPDATED, entity);
     }
 
     /**
      * Forces a save to file.
      */
-    public void flush() {
+    public synchronized void flush() {
         persist();
     }
 
     @Override
-    public List<T> findAll() {
-        return new ArrayList<>(cache);
+    public synchronized List<T> findAll() {
+        return new ArrayList<>(cache.values());
+    }
+
+    /**
+     * Passes every entity to the action without copying the cache,
+     * e.g. for streaming exports of large repositories.
+     */
+    public synchronized void forEach(Consumer<? super T> action) {
+        cache.values().forEach(action);
     }
 
     @Override
-    public Optional<T> findById(ID id) {
-        return cache.stream()
-                .filter(entity -> idExtractor.apply(entity).equals(id))
-                .findFirst();
+    public synchronized Optional<T> findById(ID id) {
+        return Optional.ofNullable(cache.get(id));
     }
 
     @Override
     public T save(T entity) {
-        ID id = idExtractor.apply(entity);
-        Optional<T> existing = findById(id);
-        if (existing.isPresent()) {
-            // Update: remove old and add new
-            cache.removeIf(e -> idExtractor.apply(e).equals(id));
+        T previous;
+        synchronized (this) {
+            checkUnique(List.of(entity));
+            previous = cache.put(idExtractor.apply(entity), entity);
+            for (UniqueIndex<T, ?> index : indexes.values()) {
+                index.put(previous, entity);
+            }
+            persist();
         }
-        cache.add(entity);
-        persist();
+        fire(List.of(event(previous, entity)));
         return entity;
     }
 
     @Override
-    public boolean delete(ID id) {
-        boolean removed = cache.removeIf(entity -> idExtractor.apply(entity).equals(id));
-        if (removed) {
+    public List<T> saveAll(Collection<T> entities) {
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<RepositoryEvent<T>> events = new ArrayList<>(entities.size());
+        synchronized (this) {
+            checkUnique(entities);
+            for (T entity : entities) {
+                T previous = cache.put(idExtractor.apply(entity), entity);
+                for (UniqueIndex<T, ?> index : indexes.values()) {
+                    index.put(previous, entity);
+                }
+                events.add(event(previous, entity));
+            }
             persist();
         }
-        return removed;
+        fire(events);
+        return new ArrayList<>(entities);
+    }
+
+    @Override
+    public boolean delete(ID id) {
+        T removed;
+        synchronized (this) {
+            removed = cache.remove(id);
+            if (removed != null) {
+                for (UniqueIndex<T, ?> index : indexes.values()) {
+                    index.remove(removed);
+                }
+                persist();
+            }
+        }
+        if (removed != null) {
+            fire(List.of(new RepositoryEvent<>(RepositoryEvent.Type.DELETED, removed)));
+        }
+        return removed != null;
+    }
+
+    @Override
+    public int deleteAll(Collection<ID> ids) {
+        List<RepositoryEvent<T>> events = new ArrayList<>(ids.size());
+        synchronized (this) {
+            for (ID id : ids) {
+                T removed = cache.remove(id);
+                if (removed != null) {
+                    for (UniqueIndex<T, ?> index : indexes.values()) {
+                        index.remove(removed);
+                    }
+                    events.add(new RepositoryEvent<>(RepositoryEvent.Type.DELETED, removed));
+                }
+            }
+            if (!events.isEmpty()) {
+                persist();
+            }
+        }
+        fire(events);
+        return events.size();
     }
 
     @Override
-    public boolean existsById(ID id) {
-        return cache.stream()
-                .anyMatch(entity -> idExtractor.apply(entity).equals(id));
+    public synchronized boolean existsById(ID id) {
+        return cache.containsKey(id);
     }
 
     @Override
-    public long count() {
+    public synchronized long count() {
         return cache.size();
     }
 }
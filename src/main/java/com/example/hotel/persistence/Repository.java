@@ -1,5 +1,6 @@
 package com.example.hotel.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,14 @@ public interface Repository<T, ID> {
      */
     T save(T entity);
 
+    /**
+     * Saves several entities (insert or update) in a single write.
+     *
+     * @param entities the entities to save
+     * @return the saved entities
+     */
+    List<T> saveAll(Collection<T> entities);
+
     /**
      * Deletes an entity by its ID.
      *
@@ -40,6 +49,14 @@ public interface Repository<T, ID> {
      */
     boolean delete(ID id);
 
+    /**
+     * Deletes several entities by ID in a single write.
+     *
+     * @param ids the IDs of the entities to delete
+     * @return the number of entities deleted
+     */
+    int deleteAll(Collection<ID> ids);
+
     /**
      * Checks if an entity exists by its ID.
      *
@@ -0,0 +1,47 @@
+package com.example.hotel.persistence;
+
+/**
+ * A single change to a repository's contents.
+ *
+ * @param <T> the entity type
+ */
+public final class RepositoryEvent<T> {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        /** A new entity was added. */
+        INSERTED,
+        /** An existing entity was saved again (possibly mutated in place). */
+        UPDATED,
+        /** An entity was removed. */
+        DELETED,
+        /** The repository was reloaded from file; listeners should rebuild. Entity is null. */
+        RELOADED
+    }
+
+    private final Type type;
+    private final T entity;
+
+    public RepositoryEvent(Type type, T entity) {
+        this.type = type;
+        this.entity = entity;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the affected entity, or null for RELOADED.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + entity;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hotel.persistence;
+
+import java.util.List;
+
+/**
+ * Receives change events from a {@link FileRepository}.
+ * Listeners are called synchronously on the thread that made the change,
+ * after it has been written to file, with every event from one operation
+ * in a single batch (e.g. all entities of a saveAll).
+ *
+ * @param <T> the entity type
+ */
+@FunctionalInterface
+public interface RepositoryListener<T> {
+
+    /**
+     * Called after one or more entities have changed.
+     *
+     * @param events the changes, in the order they were applied
+     */
+    void onChange(List<RepositoryEvent<T>> events);
+}
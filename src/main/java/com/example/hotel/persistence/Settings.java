@@ -4,10 +4,26 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Singleton configuration manager for application settings.
  * Loads from data/settings.json and provides default values if missing.
+ *
+ * VAT rate and refund policy are versioned: the top-level values are the
+ * baseline, and the optional "history" list holds changes with the date they
+ * take effect. Lookups by date use the latest version on or before that date.
+ *
+ * Values are published as an immutable {@link SettingsSnapshot} behind a
+ * volatile reference, so reads never lock. Changes and reloads build a new
+ * snapshot, swap it in and notify the registered change listeners.
  */
 public final class Settings {
 
@@ -15,72 +31,122 @@ public final class Settings {
 
     private static volatile Settings instance;
 
-    private double vatRate;
-    private String currency;
-    private String hotelName;
-    private String defaultRefundPolicy;
+    private volatile SettingsSnapshot snapshot;
+    private final List<Consumer<SettingsSnapshot>> listeners = new CopyOnWriteArrayList<>();
+    private SettingsWatcher watcher;
 
     private Settings() {
-        load();
+        this.snapshot = load();
     }
 
     /**
      * Returns the singleton instance of Settings.
      */
-    public static synchronized Settings getInstance() {
-        if (instance == null) {
-            instance = new Settings();
+    public static Settings getInstance() {
+        Settings result = instance;
+        if (result == null) {
+            synchronized (Settings.class) {
+                result = instance;
+                if (result == null) {
+                    result = new Settings();
+                    instance = result;
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     /**
-     * Loads settings from the JSON file, using defaults if file is missing.
+     * Loads settings from the JSON file, using defaults if file is missing or unreadable.
      */
-    private void load() {
-        // Set defaults first
-        vatRate = 0.10;
-        currency = "USD";
-        hotelName = "Grand Hotel";
-        defaultRefundPolicy = "TIERED";
-
+    private static SettingsSnapshot load() {
         try {
             if (Files.exists(SETTINGS_FILE)) {
-                String json = Files.readString(SETTINGS_FILE);
-                if (json != null && !json.isBlank()) {
-                    SettingsData data = JsonUtils.fromJson(json, SettingsData.class);
-                    if (data != null) {
-                        if (data.vatRate != null) {
-                            this.vatRate = data.vatRate;
-                        }
-                        if (data.currency != null) {
-                            this.currency = data.currency;
-                        }
-                        if (data.hotelName != null) {
-                            this.hotelName = data.hotelName;
-                        }
-                        if (data.defaultRefundPolicy != null) {
-                            this.defaultRefundPolicy = data.defaultRefundPolicy;
-                        }
+                return read();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Use defaults on error
+        }
+        return fromData(null);
+    }
+
+    /**
+     * Reads and parses the JSON file.
+     * @throws IOException if the file is missing, empty or cannot be read
+     * @throws RuntimeException if the file is not valid settings JSON
+     */
+    private static SettingsSnapshot read() throws IOException {
+        String json = Files.readString(SETTINGS_FILE);
+        if (json.isBlank()) {
+            throw new IOException(SETTINGS_FILE + " is empty");
+        }
+        return fromData(JsonUtils.fromJson(json, SettingsData.class));
+    }
+
+    /**
+     * Builds a snapshot from parsed file contents, with defaults for missing values.
+     */
+    private static SettingsSnapshot fromData(SettingsData data) {
+        // Set defaults first
+        double vatRate = 0.10;
+        String defaultRefundPolicy = "TIERED";
+        String currency = "USD";
+        String hotelName = "Grand Hotel";
+        NavigableMap<LocalDate, SettingsVersion> versions = new TreeMap<>();
+
+        if (data != null) {
+            if (data.vatRate != null) {
+                vatRate = data.vatRate;
+            }
+            if (data.currency != null) {
+                currency = data.currency;
+            }
+            if (data.hotelName != null) {
+                hotelName = data.hotelName;
+            }
+            if (data.defaultRefundPolicy != null) {
+                defaultRefundPolicy = data.defaultRefundPolicy;
+            }
+            if (data.history != null) {
+                for (VersionData entry : data.history) {
+                    if (entry.effectiveFrom != null && entry.vatRate != null) {
+                        versions.put(entry.effectiveFrom, new SettingsVersion(
+                                entry.effectiveFrom, entry.vatRate,
+                                entry.defaultRefundPolicy != null
+                                        ? entry.defaultRefundPolicy : defaultRefundPolicy));
                     }
                 }
             }
-        } catch (IOException e) {
-            // Use defaults on error
         }
+
+        versions.put(LocalDate.MIN, new SettingsVersion(LocalDate.MIN, vatRate, defaultRefundPolicy));
+        return new SettingsSnapshot(currency, hotelName, versions);
     }
 
     /**
      * Saves current settings to the JSON file.
      */
     public void save() {
+        SettingsSnapshot current = snapshot;
         try {
             Files.createDirectories(SETTINGS_FILE.getParent());
+            SettingsVersion baseline = current.getBaseline();
             SettingsData data = new SettingsData();
-            data.vatRate = this.vatRate;
-            data.currency = this.currency;
-            data.hotelName = this.hotelName;
-            data.defaultRefundPolicy = this.defaultRefundPolicy;
+            data.vatRate = baseline.getVatRate();
+            data.currency = current.getCurrency();
+            data.hotelName = current.getHotelName();
+            data.defaultRefundPolicy = baseline.getDefaultRefundPolicy();
+            data.history = new ArrayList<>();
+            for (SettingsVersion version : current.getVersions()) {
+                if (version == baseline) {
+                    continue;
+                }
+                VersionData entry = new VersionData();
+                entry.effectiveFrom = version.getEffectiveFrom();
+                entry.vatRate = version.getVatRate();
+                entry.defaultRefundPolicy = version.getDefaultRefundPolicy();
+                data.history.add(entry);
+            }
             String json = JsonUtils.toJson(data);
             Files.writeString(SETTINGS_FILE, json);
         } catch (IOException e) {
@@ -89,42 +155,163 @@ public final class Settings {
     }
 
     /**
-     * Reloads settings from file.
+     * Reloads settings from file and publishes the new snapshot.
+     * If the file cannot be read or parsed (for example while an editor is
+     * half-way through writing it) the current settings are kept.
      */
     public void reload() {
-        load();
+        SettingsSnapshot loaded;
+        try {
+            loaded = read();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not reload " + SETTINGS_FILE + ", keeping current settings: " + e.getMessage());
+            return;
+        }
+        update(current -> loaded);
     }
 
+    /**
+     * Starts watching data/settings.json and reloading whenever it changes.
+     * Does nothing if already watching.
+     */
+    public synchronized void startWatching() {
+        if (watcher == null) {
+            watcher = new SettingsWatcher(SETTINGS_FILE, this::reload);
+            watcher.start();
+        }
+    }
+
+    /**
+     * Stops watching the settings file.
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Registers a listener called with the new snapshot after every change.
+     * Listeners run on the thread that made the change (the watcher thread for
+     * file reloads), so GUI listeners should hand off to the FX thread.
+     */
+    public void addChangeListener(Consumer<SettingsSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     */
+    public void removeChangeListener(Consumer<SettingsSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the current settings snapshot.
+     * Use this when several values must be read consistently.
+     */
+    public SettingsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Applies a change to the current snapshot atomically and publishes the result.
+     */
+    private void update(UnaryOperator<SettingsSnapshot> change) {
+        SettingsSnapshot updated;
+        synchronized (this) {
+            updated = change.apply(snapshot);
+            snapshot = updated;
+        }
+        for (Consumer<SettingsSnapshot> listener : listeners) {
+            listener.accept(updated);
+        }
+    }
+
+    /**
+     * Returns the settings version in effect on the given date.
+     */
+    public SettingsVersion getVersionOn(LocalDate date) {
+        return snapshot.getVersionOn(date);
+    }
+
+    /**
+     * Returns all settings versions, oldest first.
+     */
+    public List<SettingsVersion> getVersions() {
+        return snapshot.getVersions();
+    }
+
+    /**
+     * Records a VAT rate and refund policy that apply from the given date onwards.
+     * Replaces any version already starting on that date.
+     */
+    public void addVersion(LocalDate effectiveFrom, double vatRate, String defaultRefundPolicy) {
+        SettingsVersion version = new SettingsVersion(effectiveFrom, vatRate, defaultRefundPolicy);
+        update(current -> current.withVersion(version));
+    }
+
+    /**
+     * Returns the VAT rate in effect today.
+     */
     public double getVatRate() {
-        return vatRate;
+        return getVatRate(LocalDate.now());
+    }
+
+    /**
+     * Returns the VAT rate in effect on the given date.
+     */
+    public double getVatRate(LocalDate date) {
+        return snapshot.getVatRate(date);
     }
 
+    /**
+     * Changes the VAT rate from today onwards.
+     */
     public void setVatRate(double vatRate) {
-        this.vatRate = vatRate;
+        LocalDate today = LocalDate.now();
+        update(current -> current.withVersion(new SettingsVersion(
+                today, vatRate, current.getDefaultRefundPolicy(today))));
     }
 
     public String getCurrency() {
-        return currency;
+        return snapshot.getCurrency();
     }
 
     public void setCurrency(String currency) {
-        this.currency = currency;
+        update(current -> current.withCurrency(currency));
     }
 
     public String getHotelName() {
-        return hotelName;
+        return snapshot.getHotelName();
     }
 
     public void setHotelName(String hotelName) {
-        this.hotelName = hotelName;
+        update(current -> current.withHotelName(hotelName));
     }
 
+    /**
+     * Returns the refund policy in effect today.
+     */
     public String getDefaultRefundPolicy() {
-        return defaultRefundPolicy;
+        return getDefaultRefundPolicy(LocalDate.now());
+    }
+
+    /**
+     * Returns the refund policy in effect on the given date.
+     */
+    public String getDefaultRefundPolicy(LocalDate date) {
+        return snapshot.getDefaultRefundPolicy(date);
     }
 
+    /**
+     * Changes the refund policy from today onwards.
+     */
     public void setDefaultRefundPolicy(String defaultRefundPolicy) {
-        this.defaultRefundPolicy = defaultRefundPolicy;
+        LocalDate today = LocalDate.now();
+        update(current -> current.withVersion(new SettingsVersion(
+                today, current.getVatRate(today), defaultRefundPolicy)));
     }
 
     /**
@@ -135,5 +322,15 @@ public final class Settings {
         String currency;
         String hotelName;
         String defaultRefundPolicy;
+        List<VersionData> history;
+    }
+
+    /**
+     * Internal class for JSON serialization of a dated settings change.
+     */
+    private static class VersionData {
+        LocalDate effectiveFrom;
+        Double vatRate;
+        String defaultRefundPolicy;
     }
 }
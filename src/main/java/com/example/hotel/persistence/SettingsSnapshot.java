@@ -0,0 +1,100 @@
+package com.example.hotel.persistence;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of all application settings at one point in time.
+ * Settings publishes a new snapshot on every change, so a reader holding one
+ * always sees a consistent set of values without locking.
+ */
+public final class SettingsSnapshot {
+
+    private final String currency;
+    private final String hotelName;
+    private final NavigableMap<LocalDate, SettingsVersion> versions;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param currency  the currency code
+     * @param hotelName the hotel name
+     * @param versions  dated VAT/refund versions; must contain an entry for LocalDate.MIN
+     */
+    public SettingsSnapshot(String currency, String hotelName,
+                            NavigableMap<LocalDate, SettingsVersion> versions) {
+        this.currency = currency;
+        this.hotelName = hotelName;
+        this.versions = Collections.unmodifiableNavigableMap(new TreeMap<>(versions));
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getHotelName() {
+        return hotelName;
+    }
+
+    /**
+     * Returns the settings version in effect on the given date.
+     */
+    public SettingsVersion getVersionOn(LocalDate date) {
+        return versions.floorEntry(date).getValue();
+    }
+
+    /**
+     * Returns the baseline version that applies before any dated change.
+     */
+    public SettingsVersion getBaseline() {
+        return versions.get(LocalDate.MIN);
+    }
+
+    /**
+     * Returns all settings versions, oldest first.
+     */
+    public List<SettingsVersion> getVersions() {
+        return new ArrayList<>(versions.values());
+    }
+
+    /**
+     * Returns the VAT rate in effect on the given date.
+     */
+    public double getVatRate(LocalDate date) {
+        return getVersionOn(date).getVatRate();
+    }
+
+    /**
+     * Returns the refund policy in effect on the given date.
+     */
+    public String getDefaultRefundPolicy(LocalDate date) {
+        return getVersionOn(date).getDefaultRefundPolicy();
+    }
+
+    /**
+     * Returns a copy of this snapshot with a different currency.
+     */
+    public SettingsSnapshot withCurrency(String currency) {
+        return new SettingsSnapshot(currency, hotelName, versions);
+    }
+
+    /**
+     * Returns a copy of this snapshot with a different hotel name.
+     */
+    public SettingsSnapshot withHotelName(String hotelName) {
+        return new SettingsSnapshot(currency, hotelName, versions);
+    }
+
+    /**
+     * Returns a copy of this snapshot with a version added (or replaced) at its effective date.
+     */
+    public SettingsSnapshot withVersion(SettingsVersion version) {
+        NavigableMap<LocalDate, SettingsVersion> updated = new TreeMap<>(versions);
+        updated.put(version.getEffectiveFrom(), version);
+        return new SettingsSnapshot(currency, hotelName, updated);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hotel.persistence;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable set of pricing settings that apply from a given date onwards.
+ * Settings keeps these in date order so the rate for any stay date can be found.
+ */
+public final class SettingsVersion {
+
+    private final LocalDate effectiveFrom;
+    private final double vatRate;
+    private final String defaultRefundPolicy;
+
+    public SettingsVersion(LocalDate effectiveFrom, double vatRate, String defaultRefundPolicy) {
+        this.effectiveFrom = effectiveFrom;
+        this.vatRate = vatRate;
+        this.defaultRefundPolicy = defaultRefundPolicy;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public double getVatRate() {
+        return vatRate;
+    }
+
+    public String getDefaultRefundPolicy() {
+        return defaultRefundPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "SettingsVersion{" +
+                "effectiveFrom=" + effectiveFrom +
+                ", vatRate=" + vatRate +
+                ", defaultRefundPolicy='" + defaultRefundPolicy + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.hotel.persistence;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches a single file for changes on a background daemon thread and runs a
+ * callback when it is created or modified. Used to hot-reload settings.json.
+ */
+class SettingsWatcher implements AutoCloseable {
+
+    // Editors often write a file in several steps; wait for them to settle
+    private static final long SETTLE_MILLIS = 100;
+
+    private final Path file;
+    private final Runnable onChange;
+    private WatchService watchService;
+    private Thread thread;
+
+    SettingsWatcher(Path file, Runnable onChange) {
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts the watcher thread.
+     */
+    void start() {
+        try {
+            Path directory = file.getParent();
+            Files.createDirectories(directory);
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch " + file, e);
+        }
+
+        thread = new Thread(this::watch, "settings-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (context instanceof Path && file.getFileName().equals(context)) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    Thread.sleep(SETTLE_MILLIS);
+                    // Drop the duplicate events produced by the same write
+                    WatchKey pending = watchService.poll();
+                    if (pending != null) {
+                        pending.pollEvents();
+                        pending.reset();
+                    }
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        // Keep watching; the next change may succeed
+                        System.err.println("Error handling change to " + file + ": " + e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher stopped
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            // Ignore errors while shutting down
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.hotel.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Unique hash index over a derived key of the entities in a {@link FileRepository}.
+ * Entities whose key is null are not indexed. The repository keeps the index
+ * current (under its own lock) and rejects saves that would give two entities
+ * the same key.
+ *
+ * Files written before the index existed may already hold several entities with
+ * one key. Those are all indexed: {@link #find} returns one of them, they can
+ * still be saved as long as they keep the key, and when one is removed the next
+ * takes its place.
+ *
+ * @param <T> the entity type
+ * @param <K> the key type
+ */
+public final class UniqueIndex<T, K> {
+
+    private final Object lock;
+    private final String name;
+    private final Function<T, K> keyExtractor;
+    private final Map<K, T> entitiesByKey = new HashMap<>();
+    // Further entities sharing a key with the one in entitiesByKey, from files with duplicates
+    private final Map<K, List<T>> sharedKeys = new HashMap<>();
+    // Key each entity was indexed under, to find stale keys after in-place changes
+    private final Map<T, K> keysByEntity = new IdentityHashMap<>();
+
+    UniqueIndex(Object lock, String name, Function<T, K> keyExtractor) {
+        this.lock = lock;
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the key an entity would be indexed under.
+     */
+    public K keyOf(T entity) {
+        return keyExtractor.apply(entity);
+    }
+
+    /**
+     * Finds the entity with the given key in O(1).
+     */
+    public Optional<T> find(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        synchronized (lock) {
+            return Optional.ofNullable(entitiesByKey.get(key));
+        }
+    }
+
+    /**
+     * Throws if saving the entities would give an existing entity's key to
+     * another entity, or the same key to two of them. Entities that keep the
+     * key they are indexed under are always accepted.
+     */
+    void check(Collection<T> entities, Function<T, ?> idExtractor) {
+        Map<Object, T> batchById = new HashMap<>();
+        for (T entity : entities) {
+            batchById.put(idExtractor.apply(entity), entity);
+        }
+        Map<K, T> claimed = new HashMap<>();
+        for (Map.Entry<Object, T> entry : batchById.entrySet()) {
+            T entity = entry.getValue();
+            K key = keyOf(entity);
+            if (key == null) {
+                continue;
+            }
+            List<T> holders = holdersOf(key);
+            if (containsId(holders, entry.getKey(), idExtractor)) {
+                continue;
+            }
+            T other = claimed.put(key, entity);
+            if (other != null && other != entity) {
+                throw new IllegalArgumentException(name + " " + key + " is already in use");
+            }
+            for (T holder : holders) {
+                // A holder that is part of the batch may move to another key
+                T saved = batchById.get(idExtractor.apply(holder));
+                if (saved == null || key.equals(keyOf(saved))) {
+                    throw new IllegalArgumentException(name + " " + key + " is already in use");
+                }
+            }
+        }
+    }
+
+    /**
+     * Index an entity, replacing the entry of the entity it supersedes (if any).
+     */
+    void put(T previous, T entity) {
+        if (previous != null) {
+            remove(previous);
+        }
+        remove(entity);
+        load(entity);
+    }
+
+    /**
+     * Index an entity, alongside any entity already holding its key.
+     */
+    void load(T entity) {
+        K key = keyOf(entity);
+        if (key == null) {
+            return;
+        }
+        if (entitiesByKey.putIfAbsent(key, entity) != null) {
+            sharedKeys.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entity);
+        }
+        keysByEntity.put(entity, key);
+    }
+
+    void remove(T entity) {
+        K key = keysByEntity.remove(entity);
+        if (key == null) {
+            return;
+        }
+        List<T> shared = sharedKeys.get(key);
+        if (entitiesByKey.get(key) == entity) {
+            if (shared == null) {
+                entitiesByKey.remove(key);
+                return;
+            }
+            // Another entity still holds the key
+            entitiesByKey.put(key, shared.remove(shared.size() - 1));
+        } else if (shared != null) {
+            shared.removeIf(e -> e == entity);
+        }
+        if (shared != null && shared.isEmpty()) {
+            sharedKeys.remove(key);
+        }
+    }
+
+    private List<T> holdersOf(K key) {
+        T holder = entitiesByKey.get(key);
+        if (holder == null) {
+            return List.of();
+        }
+        List<T> shared = sharedKeys.get(key);
+        if (shared == null) {
+            return List.of(holder);
+        }
+        List<T> holders = new ArrayList<>(shared.size() + 1);
+        holders.add(holder);
+        holders.addAll(shared);
+        return holders;
+    }
+
+    private static <T> boolean containsId(List<T> entities, Object id, Function<T, ?> idExtractor) {
+        for (T entity : entities) {
+            if (id.equals(idExtractor.apply(entity))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void clear() {
+        entitiesByKey.clear();
+        sharedKeys.clear();
+        keysByEntity.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hotel.service;
+
+import com.example.hotel.model.Invoice;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch invoicing run.
+ */
+public class BatchInvoiceResult {
+
+    private final List<Invoice> invoices;
+    private final int alreadyInvoicedCount;
+    private final int skippedCount;
+    private final long elapsedNanos;
+
+    public BatchInvoiceResult(List<Invoice> invoices, int alreadyInvoicedCount,
+                              int skippedCount, long elapsedNanos) {
+        this.invoices = Collections.unmodifiableList(invoices);
+        this.alreadyInvoicedCount = alreadyInvoicedCount;
+        this.skippedCount = skippedCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the newly generated invoices.
+     */
+    public List<Invoice> getInvoices() {
+        return invoices;
+    }
+
+    /**
+     * Get the number of bookings that already had an invoice.
+     */
+    public int getAlreadyInvoicedCount() {
+        return alreadyInvoicedCount;
+    }
+
+    /**
+     * Get the number of bookings skipped because the booking or its room was not found.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Get the wall-clock time of the run in milliseconds.
+     */
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    /**
+     * Get the throughput of the run in invoices per second.
+     */
+    public double getInvoicesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0.0;
+        }
+        return invoices.size() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Generated %d invoices in %.1f ms (%.0f invoices/sec), "
+                + "%d already invoiced, %d skipped",
+            invoices.size(), getElapsedMillis(), getInvoicesPerSecond(),
+            alreadyInvoicedCount, skippedCount);
+    }
+}
@@ -10,10 +10,16 @@ import com.example.hotel.persistence.Settings;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Service for managing bookings.
@@ -21,6 +27,11 @@ import java.util.stream.Collectors;
  */
 public class BookingService extends AbstractService<Booking> {
 
+    // Refund policies are stateless, so one instance of each is shared
+    private static final RefundPolicy NO_REFUND = new NoRefundPolicy();
+    private static final RefundPolicy FULL_REFUND = new FullRefundPolicy();
+    private static final RefundPolicy TIERED_REFUND = new TieredRefundPolicy();
+
     private final RoomService roomService;
     private final Settings settings;
 
@@ -71,6 +82,7 @@ public class BookingService extends AbstractService<Booking> {
         }
 
         // Calculate cost
+        double subtotal = calculateSubtotal(room, checkIn, checkOut);
         double totalCost = calculateTotalCost(room, checkIn, checkOut);
 
         // Create booking
@@ -83,6 +95,7 @@ public class BookingService extends AbstractService<Booking> {
             BookingStatus.CONFIRMED,
             totalCost
         );
+        booking.setSubtotal(subtotal);
 
         // Save booking and update room availability
         repository.save(booking);
@@ -113,7 +126,7 @@ public class BookingService extends AbstractService<Booking> {
                 .orElse(null);
 
         // Calculate refund
-        RefundPolicy policy = getRefundPolicy(room);
+        RefundPolicy policy = getRefundPolicy(room, booking.getCheckInDate());
         double refundAmount = policy.calculateRefund(booking, LocalDate.now());
 
         // Update booking
@@ -129,6 +142,79 @@ public class BookingService extends AbstractService<Booking> {
         return booking;
     }
 
+    /**
+     * Cancel several bookings at once and calculate their refunds.
+     * Refunds are computed in parallel; all status changes are written in a
+     * single save, and the freed rooms in another.
+     * @return The cancelled bookings with refund amounts
+     * @throws IllegalArgumentException if any booking is missing or not confirmed
+     */
+    public List<Booking> cancelBookings(Collection<String> bookingIds, LocalDate cancelDate) {
+        List<Booking> bookings = new ArrayList<>();
+        for (String bookingId : new LinkedHashSet<>(bookingIds)) {
+            Booking booking = repository.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                        "Booking " + bookingId + " not found"));
+            if (booking.getStatus() != BookingStatus.CONFIRMED) {
+                throw new IllegalArgumentException(
+                    "Booking " + bookingId + " is not confirmed and cannot be cancelled");
+            }
+            bookings.add(booking);
+        }
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+
+        // Look up every room once instead of once per booking
+        Map<String, Room> rooms = roomService.getAllRooms().stream()
+                .collect(Collectors.toMap(Room::getRoomNumber, Function.identity()));
+
+        double[] refunds = new double[bookings.size()];
+        IntStream.range(0, bookings.size()).parallel().forEach(i -> {
+            Booking booking = bookings.get(i);
+            RefundPolicy policy = getRefundPolicy(rooms.get(booking.getRoomNumber()),
+                booking.getCheckInDate());
+            refunds[i] = policy.calculateRefund(booking, cancelDate);
+        });
+
+        Set<String> freedRooms = new LinkedHashSet<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            booking.setStatus(BookingStatus.CANCELLED);
+            booking.setRefundAmount(refunds[i]);
+            if (rooms.containsKey(booking.getRoomNumber())) {
+                freedRooms.add(booking.getRoomNumber());
+            }
+        }
+
+        repository.saveAll(bookings);
+        roomService.setAvailability(freedRooms, true);
+
+        return bookings;
+    }
+
+    /**
+     * Get IDs of confirmed bookings whose stay overlaps the given date range.
+     */
+    public List<String> findConfirmedBookingIdsInRange(LocalDate from, LocalDate to) {
+        return repository.findAll().stream()
+                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
+                .filter(b -> datesOverlap(b.getCheckInDate(), b.getCheckOutDate(), from, to))
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get IDs of confirmed bookings for any of the given rooms.
+     */
+    public List<String> findConfirmedBookingIdsForRooms(Set<String> roomNumbers) {
+        return repository.findAll().stream()
+                .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
+                .filter(b -> roomNumbers.contains(b.getRoomNumber()))
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Complete a booking (guest checked out).
      */
@@ -187,14 +273,54 @@ public class BookingService extends AbstractService<Booking> {
 
     /**
      * Calculate the total cost for a booking.
+     * Uses the VAT rate in effect on the check-in date.
      */
     public double calculateTotalCost(Room room, LocalDate checkIn, LocalDate checkOut) {
         long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
         double subtotal = nights * room.getPricePerNight();
-        double vat = subtotal * settings.getVatRate();
+        double vat = subtotal * settings.getVatRate(checkIn);
         return subtotal + vat;
     }
 
+    /**
+     * Re-price confirmed bookings checking in on or after the given date,
+     * e.g. after a VAT change has been scheduled. The booked subtotal is kept
+     * and only the VAT is recomputed with the rate in effect on the check-in
+     * date. All changes are saved in one write.
+     * @return The bookings whose total cost changed
+     */
+    public List<Booking> repriceBookingsFrom(LocalDate from) {
+        List<Booking> repriced = new ArrayList<>();
+        for (Booking booking : repository.findAll()) {
+            if (booking.getStatus() != BookingStatus.CONFIRMED
+                    || booking.getCheckInDate().isBefore(from)) {
+                continue;
+            }
+            double subtotal = bookedSubtotal(booking, from);
+            double totalCost = subtotal + subtotal * settings.getVatRate(booking.getCheckInDate());
+            if (Double.compare(totalCost, booking.getTotalCost()) != 0
+                    || Double.compare(subtotal, booking.getSubtotal()) != 0) {
+                booking.setSubtotal(subtotal);
+                booking.setTotalCost(totalCost);
+                repriced.add(booking);
+            }
+        }
+        return repository.saveAll(repriced);
+    }
+
+    /**
+     * The subtotal a booking was priced at. Bookings saved before the subtotal
+     * was recorded were priced with the VAT rate in effect before the change
+     * being applied from {@code from}, so it is taken out of their total.
+     */
+    private double bookedSubtotal(Booking booking, LocalDate from) {
+        if (booking.getSubtotal() > 0) {
+            return booking.getSubtotal();
+        }
+        LocalDate priced = from.isAfter(LocalDate.MIN) ? from.minusDays(1) : from;
+        return booking.getTotalCost() / (1 + settings.getVatRate(priced));
+    }
+
     /**
      * Calculate the subtotal (before VAT).
      */
@@ -247,22 +373,22 @@ public class BookingService extends AbstractService<Booking> {
     }
 
     /**
-     * Get the appropriate refund policy for a room.
+     * Get the appropriate refund policy for a room and stay date.
      */
-    private RefundPolicy getRefundPolicy(Room room) {
+    private RefundPolicy getRefundPolicy(Room room, LocalDate stayDate) {
         if (room == null || !room.isRefundable()) {
-            return new NoRefundPolicy();
+            return NO_REFUND;
         }
 
-        String policyType = settings.getDefaultRefundPolicy();
+        String policyType = settings.getDefaultRefundPolicy(stayDate);
         switch (policyType.toUpperCase()) {
             case "FULL":
-                return new FullRefundPolicy();
+                return FULL_REFUND;
             case "NONE":
-                return new NoRefundPolicy();
+                return NO_REFUND;
             case "TIERED":
             default:
-                return new TieredRefundPolicy();
+                return TIERED_REFUND;
         }
     }
 
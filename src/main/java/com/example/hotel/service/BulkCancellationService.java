@@ -0,0 +1,69 @@
+package com.example.hotel.service;
+
+import com.example.hotel.model.Booking;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for cancelling many bookings at once, e.g. when a floor is closed
+ * for renovation or an event is called off.
+ * Bookings, rooms and linked invoices are each persisted in one batch.
+ */
+public class BulkCancellationService {
+
+    private final BookingService bookingService;
+    private final InvoiceService invoiceService;
+
+    public BulkCancellationService() {
+        this.bookingService = new BookingService();
+        this.invoiceService = new InvoiceService();
+    }
+
+    // Constructor for testing
+    public BulkCancellationService(BookingService bookingService,
+                                   InvoiceService invoiceService) {
+        this.bookingService = bookingService;
+        this.invoiceService = invoiceService;
+    }
+
+    /**
+     * Cancel the given bookings.
+     * @return The cancelled bookings with refund amounts
+     * @throws IllegalArgumentException if any booking is missing or not confirmed
+     */
+    public List<Booking> cancelByIds(Collection<String> bookingIds) {
+        List<Booking> cancelled = bookingService.cancelBookings(bookingIds, LocalDate.now());
+
+        Map<String, Double> refunds = new LinkedHashMap<>();
+        for (Booking booking : cancelled) {
+            refunds.put(booking.getBookingId(), booking.getRefundAmount());
+        }
+        invoiceService.updateWithRefunds(refunds);
+
+        return cancelled;
+    }
+
+    /**
+     * Cancel every confirmed booking whose stay overlaps the given date range.
+     * @param from first day of the range (inclusive)
+     * @param to   last day of the range (exclusive)
+     */
+    public List<Booking> cancelByDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        return cancelByIds(bookingService.findConfirmedBookingIdsInRange(from, to));
+    }
+
+    /**
+     * Cancel every confirmed booking for the given rooms.
+     */
+    public List<Booking> cancelByRooms(Set<String> roomNumbers) {
+        return cancelByIds(bookingService.findConfirmedBookingIdsForRooms(roomNumbers));
+    }
+}
@@ -3,25 +3,44 @@ package com.example.hotel.service;
 import com.example.hotel.model.Guest;
 import com.example.hotel.persistence.FileRepository;
 import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.persistence.UniqueIndex;
+import com.example.hotel.service.search.GuestSearchIndex;
+import com.example.hotel.util.ValidationUtil;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing guests.
  * Contains business logic for guest operations.
+ *
+ * Emails (case-insensitive) and phone numbers (E.164-normalized) are unique:
+ * the guest repository keeps a unique index on each, so lookups are O(1) and
+ * saving a guest whose email or phone belongs to another guest is rejected.
  */
 public class GuestService extends AbstractService<Guest> {
 
+    private final GuestSearchIndex searchIndex;
+    private final UniqueIndex<Guest, String> emailIndex;
+    private final UniqueIndex<Guest, String> phoneIndex;
+
     public GuestService() {
-        super(RepositoryFactory.getInstance().getGuestRepository());
+        this(RepositoryFactory.getInstance().getGuestRepository(), GuestSearchIndex.getInstance());
     }
 
     // Constructor for testing with mock repository
     public GuestService(FileRepository<Guest, String> guestRepository) {
+        this(guestRepository, new GuestSearchIndex(guestRepository));
+    }
+
+    public GuestService(FileRepository<Guest, String> guestRepository, GuestSearchIndex searchIndex) {
         super(guestRepository);
+        this.searchIndex = searchIndex;
+        this.emailIndex = guestRepository.uniqueIndex("Email",
+            guest -> ValidationUtil.normalizeEmail(guest.getEmail()));
+        this.phoneIndex = guestRepository.uniqueIndex("Phone",
+            guest -> ValidationUtil.normalizePhone(guest.getPhone()));
     }
 
     /**
@@ -78,28 +97,29 @@ public class GuestService extends AbstractService<Guest> {
      * Search guests by name (partial match, case-insensitive).
      */
     public List<Guest> searchByName(String searchTerm) {
-        String lowerSearch = searchTerm.toLowerCase();
-        return repository.findAll().stream()
-                .filter(guest -> guest.getName().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+        return searchIndex.searchByName(searchTerm);
+    }
+
+    /**
+     * Search guests by name, email or phone (partial match, case-insensitive).
+     */
+    public List<Guest> search(String searchTerm) {
+        return searchIndex.search(searchTerm);
     }
 
     /**
-     * Find guest by email.
+     * Find guest by email (case-insensitive).
      */
     public Optional<Guest> findByEmail(String email) {
-        return repository.findAll().stream()
-                .filter(guest -> guest.getEmail().equalsIgnoreCase(email))
-                .findFirst();
+        return emailIndex.find(ValidationUtil.normalizeEmail(email));
     }
 
     /**
-     * Find guest by phone number.
+     * Find guest by phone number, ignoring formatting
+     * (e.g. "069 20 20 202" matches "+355692020202").
      */
     public Optional<Guest> findByPhone(String phone) {
-        return repository.findAll().stream()
-                .filter(guest -> guest.getPhone().equals(phone))
-                .findFirst();
+        return phoneIndex.find(ValidationUtil.normalizePhone(phone));
     }
 
     /**
@@ -110,15 +130,52 @@ public class GuestService extends AbstractService<Guest> {
     }
 
     /**
-     * Find an existing guest by email or create a new one.
-     * Used by the Guest Portal for self-service bookings.
+     * Find an existing guest by email, then by phone, or create a new one.
+     * Used by the Guest Portal for self-service bookings. If a concurrent
+     * sign-up creates the same guest first, that guest is returned.
+     * @throws IllegalArgumentException if the phone belongs to a guest with
+     *         another name or email, so the booking is not filed under them
      */
     public Guest findOrCreateGuest(String name, String phone, String email) {
-        Optional<Guest> existing = findByEmail(email);
+        Optional<Guest> existing = findExisting(name, phone, email);
         if (existing.isPresent()) {
             return existing.get();
         }
-        return addGuest(name, phone, email);
+        try {
+            return addGuest(name, phone, email);
+        } catch (IllegalArgumentException e) {
+            // Lost the race against another sign-up with the same email or phone
+            return findExisting(name, phone, email).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<Guest> findExisting(String name, String phone, String email) {
+        Optional<Guest> byEmail = findByEmail(email);
+        if (byEmail.isPresent()) {
+            return byEmail;
+        }
+        Optional<Guest> byPhone = findByPhone(phone);
+        if (byPhone.isPresent() && !isSamePerson(byPhone.get(), name)) {
+            throw new IllegalArgumentException(
+                "Phone " + phone + " is already registered with a different email address");
+        }
+        return byPhone;
+    }
+
+    /**
+     * A guest found by phone only is the same person if the name matches and
+     * no other email is on record (the email lookup already failed).
+     */
+    private static boolean isSamePerson(Guest guest, String name) {
+        return ValidationUtil.isEmpty(guest.getEmail())
+            && sameName(guest.getName(), name);
+    }
+
+    private static boolean sameName(String a, String b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        return a.trim().replaceAll("\\s+", " ").equalsIgnoreCase(b.trim().replaceAll("\\s+", " "));
     }
 
     /**
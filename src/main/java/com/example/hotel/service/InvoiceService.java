@@ -3,14 +3,35 @@ package com.example.hotel.service;
 import com.example.hotel.model.Booking;
 import com.example.hotel.model.Invoice;
 import com.example.hotel.model.Room;
+import com.example.hotel.model.enums.BookingStatus;
 import com.example.hotel.persistence.FileRepository;
 import com.example.hotel.persistence.RepositoryFactory;
 import com.example.hotel.persistence.Settings;
+import com.example.hotel.service.template.InvoiceTemplate;
+import com.example.hotel.util.CurrencyConversion;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Service for generating and managing invoices.
@@ -76,23 +97,12 @@ public class InvoiceService extends AbstractService<Invoice> {
                 .orElseThrow(() -> new IllegalArgumentException(
                     "Room " + booking.getRoomNumber() + " not found"));
 
-        // Calculate invoice amounts
-        long nights = ChronoUnit.DAYS.between(
-            booking.getCheckInDate(), booking.getCheckOutDate());
-        double subtotal = nights * room.getPricePerNight();
-        double vatRate = settings.getVatRate();
-        double vat = subtotal * vatRate;
-        double total = subtotal + vat;
-
         // Create invoice
-        Invoice invoice = new Invoice(
-            generateInvoiceId(),
-            bookingId,
-            subtotal,
-            vatRate,
-            vat,
-            total
-        );
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceId(generateInvoiceId(id -> !repository.existsById(id)));
+        invoice.setBookingId(bookingId);
+        invoice.setGeneratedAt(LocalDateTime.now());
+        applyAmounts(invoice, booking, room);
 
         // Set refund if booking was cancelled
         invoice.setRefundAmount(booking.getRefundAmount());
@@ -101,6 +111,76 @@ public class InvoiceService extends AbstractService<Invoice> {
         return invoice;
     }
 
+    /**
+     * Generate invoices for every completed booking that does not have one yet.
+     * Intended for month-end runs.
+     */
+    public BatchInvoiceResult generateInvoicesForCompletedBookings() {
+        List<String> bookingIds = bookingService.getAllBookings().stream()
+                .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
+                .map(Booking::getBookingId)
+                .collect(Collectors.toList());
+        return generateInvoices(bookingIds);
+    }
+
+    /**
+     * Generate invoices for many bookings at once.
+     * Bookings, rooms and existing invoices are joined through hash maps,
+     * amounts are computed in parallel and all new invoices are saved in one write.
+     * Bookings that already have an invoice are left untouched; bookings that
+     * (or whose room) cannot be found are skipped.
+     */
+    public BatchInvoiceResult generateInvoices(Collection<String> bookingIds) {
+        long start = System.nanoTime();
+
+        List<Invoice> existing = repository.findAll();
+        Set<String> invoiced = existing.stream()
+                .map(Invoice::getBookingId)
+                .collect(Collectors.toSet());
+        // IDs in use or issued in this batch; saveAll would overwrite a clash
+        Set<String> takenIds = existing.stream()
+                .map(Invoice::getInvoiceId)
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<String, Booking> bookings = bookingService.getAllBookings().stream()
+                .collect(Collectors.toMap(Booking::getBookingId, Function.identity()));
+        Map<String, Room> rooms = roomService.getAllRooms().stream()
+                .collect(Collectors.toMap(Room::getRoomNumber, Function.identity()));
+
+        int alreadyInvoiced = 0;
+        int skipped = 0;
+        List<Booking> targets = new ArrayList<>();
+        for (String bookingId : new LinkedHashSet<>(bookingIds)) {
+            Booking booking = bookings.get(bookingId);
+            if (invoiced.contains(bookingId)) {
+                alreadyInvoiced++;
+            } else if (booking == null || !rooms.containsKey(booking.getRoomNumber())) {
+                skipped++;
+            } else {
+                targets.add(booking);
+            }
+        }
+
+        String[] invoiceIds = new String[targets.size()];
+        for (int i = 0; i < invoiceIds.length; i++) {
+            invoiceIds[i] = generateInvoiceId(takenIds::add);
+        }
+
+        Invoice[] created = new Invoice[targets.size()];
+        IntStream.range(0, created.length).parallel().forEach(i -> {
+            Booking booking = targets.get(i);
+            Invoice invoice = new Invoice();
+            invoice.setInvoiceId(invoiceIds[i]);
+            invoice.setBookingId(booking.getBookingId());
+            invoice.setGeneratedAt(LocalDateTime.now());
+            applyAmounts(invoice, booking, rooms.get(booking.getRoomNumber()));
+            invoice.setRefundAmount(booking.getRefundAmount());
+            created[i] = invoice;
+        });
+
+        List<Invoice> saved = repository.saveAll(List.of(created));
+        return new BatchInvoiceResult(saved, alreadyInvoiced, skipped, System.nanoTime() - start);
+    }
+
     /**
      * Update invoice with refund amount (after cancellation).
      */
@@ -114,54 +194,134 @@ public class InvoiceService extends AbstractService<Invoice> {
         return invoice;
     }
 
+    /**
+     * Update the invoices of several bookings with their refund amounts in a single write.
+     * Bookings that have no invoice yet are skipped.
+     * @param refundsByBookingId refund amount keyed by booking ID
+     * @return The updated invoices
+     */
+    public List<Invoice> updateWithRefunds(Map<String, Double> refundsByBookingId) {
+        Map<String, Invoice> invoicesByBooking = repository.findAll().stream()
+                .collect(Collectors.toMap(Invoice::getBookingId, Function.identity(),
+                    (first, second) -> first));
+
+        List<Invoice> updated = new ArrayList<>();
+        refundsByBookingId.forEach((bookingId, refundAmount) -> {
+            Invoice invoice = invoicesByBooking.get(bookingId);
+            if (invoice != null) {
+                invoice.setRefundAmount(refundAmount);
+                updated.add(invoice);
+            }
+        });
+        return repository.saveAll(updated);
+    }
+
+    /**
+     * Re-price confirmed bookings checking in on or after the given date and
+     * bring their existing invoices in line, e.g. after a VAT change.
+     * Bookings and invoices are each saved in one write.
+     * @return The bookings whose total cost changed
+     */
+    public List<Booking> repriceFutureBookings(LocalDate from) {
+        List<Booking> repriced = bookingService.repriceBookingsFrom(from);
+
+        Map<String, Invoice> invoicesByBooking = repository.findAll().stream()
+                .collect(Collectors.toMap(Invoice::getBookingId, Function.identity(),
+                    (first, second) -> first));
+
+        List<Invoice> updated = new ArrayList<>();
+        for (Booking booking : repriced) {
+            Invoice invoice = invoicesByBooking.get(booking.getBookingId());
+            if (invoice == null) {
+                continue;
+            }
+            roomService.findByRoomNumber(booking.getRoomNumber()).ifPresent(room -> {
+                applyAmounts(invoice, booking, room);
+                updated.add(invoice);
+            });
+        }
+        repository.saveAll(updated);
+        return repriced;
+    }
+
+    /**
+     * Calculate invoice amounts using the VAT rate in effect on the check-in date.
+     * The subtotal is the one the booking was priced at; the room's current
+     * price is only used for bookings saved before the subtotal was recorded.
+     */
+    private void applyAmounts(Invoice invoice, Booking booking, Room room) {
+        double subtotal = booking.getSubtotal();
+        if (subtotal <= 0) {
+            long nights = ChronoUnit.DAYS.between(
+                booking.getCheckInDate(), booking.getCheckOutDate());
+            subtotal = nights * room.getPricePerNight();
+        }
+        double vatRate = settings.getVatRate(booking.getCheckInDate());
+        double vat = subtotal * vatRate;
+        invoice.setSubtotal(subtotal);
+        invoice.setVatRate(vatRate);
+        invoice.setVat(vat);
+        invoice.setTotal(subtotal + vat);
+    }
+
     /**
      * Format invoice for display.
      */
     public String formatInvoice(Invoice invoice) {
+        return formatInvoice(invoice, CurrencyConversion.identity(settings.getCurrency()));
+    }
+
+    /**
+     * Format invoice for display with amounts converted to another currency.
+     */
+    public String formatInvoice(Invoice invoice, CurrencyConversion conversion) {
         Booking booking = bookingService.findById(invoice.getBookingId())
                 .orElse(null);
+        return InvoiceTemplate.getDefault().render(invoice, booking, conversion);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("========================================\n");
-        sb.append("              INVOICE\n");
-        sb.append("========================================\n");
-        sb.append(String.format("Invoice #:    %s%n", invoice.getInvoiceId()));
-        sb.append(String.format("Booking #:    %s%n", invoice.getBookingId()));
-        sb.append(String.format("Generated:    %s%n", invoice.getGeneratedAt()));
-        sb.append("----------------------------------------\n");
-
-        if (booking != null) {
-            sb.append(String.format("Room:         %s%n", booking.getRoomNumber()));
-            sb.append(String.format("Check-in:     %s%n", booking.getCheckInDate()));
-            sb.append(String.format("Check-out:    %s%n", booking.getCheckOutDate()));
-            sb.append(String.format("Nights:       %d%n", booking.getNumberOfNights()));
-            sb.append(String.format("Status:       %s%n", booking.getStatus()));
-        }
+    /**
+     * Write invoices one after another as plain text, e.g. for a text archive.
+     * Each invoice is rendered straight into the writer with the compiled
+     * default template; nothing is collected in memory.
+     */
+    public void exportInvoices(Collection<Invoice> invoices, Writer writer) throws IOException {
+        exportInvoices(invoices, writer, InvoiceTemplate.getDefault(),
+            CurrencyConversion.identity(settings.getCurrency()));
+    }
 
-        sb.append("----------------------------------------\n");
-        sb.append(String.format("Subtotal:     %s %.2f%n",
-            settings.getCurrency(), invoice.getSubtotal()));
-        sb.append(String.format("VAT (%.0f%%):    %s %.2f%n",
-            invoice.getVatRate() * 100, settings.getCurrency(), invoice.getVat()));
-        sb.append(String.format("Total:        %s %.2f%n",
-            settings.getCurrency(), invoice.getTotal()));
-
-        if (invoice.getRefundAmount() > 0) {
-            sb.append("----------------------------------------\n");
-            sb.append(String.format("Refund:       %s %.2f%n",
-                settings.getCurrency(), invoice.getRefundAmount()));
-            sb.append(String.format("Final Amount: %s %.2f%n",
-                settings.getCurrency(), invoice.getFinalAmount()));
+    /**
+     * Write invoices one after another using the given template and currency.
+     */
+    public void exportInvoices(Collection<Invoice> invoices, Writer writer,
+                               InvoiceTemplate template, CurrencyConversion conversion)
+            throws IOException {
+        for (Invoice invoice : invoices) {
+            Booking booking = bookingService.findById(invoice.getBookingId()).orElse(null);
+            template.render(writer, invoice, booking, conversion);
+            writer.write('\n');
         }
+        writer.flush();
+    }
 
-        sb.append("========================================\n");
-        return sb.toString();
+    /**
+     * Write invoices to a byte stream as UTF-8 text.
+     */
+    public void exportInvoices(Collection<Invoice> invoices, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        exportInvoices(invoices, writer);
     }
 
     /**
-     * Generate a unique invoice ID.
+     * Generate an unused invoice ID. The random part is short, so clashes
+     * become likely over large batches; a clashing ID is drawn again.
+     * @param claim claims an ID, returning false if it is already taken
      */
-    private String generateInvoiceId() {
-        return "INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private String generateInvoiceId(Predicate<String> claim) {
+        String id;
+        do {
+            id = "INV-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        } while (!claim.test(id));
+        return id;
     }
 }
@@ -4,8 +4,11 @@ import com.example.hotel.model.Room;
 import com.example.hotel.model.enums.RoomType;
 import com.example.hotel.persistence.FileRepository;
 import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.service.search.RoomSearchIndex;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -16,13 +19,20 @@ import java.util.stream.Collectors;
  */
 public class RoomService extends AbstractService<Room> {
 
+    private final RoomSearchIndex searchIndex;
+
     public RoomService() {
-        super(RepositoryFactory.getInstance().getRoomRepository());
+        this(RepositoryFactory.getInstance().getRoomRepository(), RoomSearchIndex.getInstance());
     }
 
     // Constructor for testing with mock repository
     public RoomService(FileRepository<Room, String> roomRepository) {
+        this(roomRepository, new RoomSearchIndex(roomRepository));
+    }
+
+    public RoomService(FileRepository<Room, String> roomRepository, RoomSearchIndex searchIndex) {
         super(roomRepository);
+        this.searchIndex = searchIndex;
     }
 
     /**
@@ -94,10 +104,7 @@ public class RoomService extends AbstractService<Room> {
      * Search rooms by room number (partial match).
      */
     public List<Room> searchByRoomNumber(String searchTerm) {
-        String lowerSearch = searchTerm.toLowerCase();
-        return repository.findAll().stream()
-                .filter(room -> room.getRoomNumber().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+        return searchIndex.search(searchTerm);
     }
 
     /**
@@ -111,6 +118,21 @@ public class RoomService extends AbstractService<Room> {
         repository.save(room);
     }
 
+    /**
+     * Set availability for several rooms in a single write.
+     * Unknown room numbers are ignored.
+     */
+    public void setAvailability(Collection<String> roomNumbers, boolean available) {
+        List<Room> changed = new ArrayList<>();
+        for (String roomNumber : roomNumbers) {
+            findById(roomNumber).ifPresent(room -> {
+                room.setAvailable(available);
+                changed.add(room);
+            });
+        }
+        repository.saveAll(changed);
+    }
+
     /**
      * Get total room count.
      */
@@ -0,0 +1,230 @@
+package com.example.hotel.service;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Guest;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.model.Room;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.persistence.Settings;
+import com.example.hotel.service.analytics.BookingColumnStore;
+import com.example.hotel.service.analytics.GuestStatsCache;
+import com.example.hotel.service.analytics.OccupancyAnalytics;
+import com.example.hotel.service.analytics.RevenueAggregates;
+import com.example.hotel.service.dedup.GuestDeduplicationService;
+import com.example.hotel.service.export.ExportService;
+import com.example.hotel.service.projection.BookingRowProjection;
+import com.example.hotel.service.search.GuestPrefixIndex;
+import com.example.hotel.service.search.GuestSearchIndex;
+import com.example.hotel.service.search.RoomSearchIndex;
+
+/**
+ * Application-wide set of services, each created once on first use and shared.
+ *
+ * Services are wired through their constructors from the repositories and
+ * settings held here, so every caller (controllers or headless code) uses the
+ * same service instances and caches. The application registry hands out the
+ * application-wide indexes and aggregates; a registry built for testing gets
+ * its own, built over its own repositories.
+ */
+public final class ServiceRegistry {
+
+    private static volatile ServiceRegistry instance;
+
+    private final FileRepository<Room, String> roomRepository;
+    private final FileRepository<Guest, String> guestRepository;
+    private final FileRepository<Booking, String> bookingRepository;
+    private final FileRepository<Invoice, String> invoiceRepository;
+    private final Settings settings;
+    private final boolean application;
+
+    private RoomService roomService;
+    private GuestService guestService;
+    private BookingService bookingService;
+    private InvoiceService invoiceService;
+    private BulkCancellationService bulkCancellationService;
+    private ExportService exportService;
+    private GuestDeduplicationService guestDeduplicationService;
+
+    private GuestSearchIndex guestSearchIndex;
+    private GuestPrefixIndex guestPrefixIndex;
+    private RoomSearchIndex roomSearchIndex;
+    private BookingColumnStore bookingColumnStore;
+    private OccupancyAnalytics occupancyAnalytics;
+    private RevenueAggregates revenueAggregates;
+    private GuestStatsCache guestStatsCache;
+    private BookingRowProjection bookingRowProjection;
+
+    private ServiceRegistry() {
+        RepositoryFactory repositories = RepositoryFactory.getInstance();
+        this.roomRepository = repositories.getRoomRepository();
+        this.guestRepository = repositories.getGuestRepository();
+        this.bookingRepository = repositories.getBookingRepository();
+        this.invoiceRepository = repositories.getInvoiceRepository();
+        this.settings = Settings.getInstance();
+        this.application = true;
+    }
+
+    // Constructor for testing
+    public ServiceRegistry(FileRepository<Room, String> roomRepository,
+                           FileRepository<Guest, String> guestRepository,
+                           FileRepository<Booking, String> bookingRepository,
+                           FileRepository<Invoice, String> invoiceRepository,
+                           Settings settings) {
+        this.roomRepository = roomRepository;
+        this.guestRepository = guestRepository;
+        this.bookingRepository = bookingRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.settings = settings;
+        this.application = false;
+    }
+
+    /**
+     * Returns the application registry, created on first use.
+     */
+    public static ServiceRegistry getInstance() {
+        ServiceRegistry result = instance;
+        if (result == null) {
+            synchronized (ServiceRegistry.class) {
+                result = instance;
+                if (result == null) {
+                    result = new ServiceRegistry();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public FileRepository<Room, String> getRoomRepository() {
+        return roomRepository;
+    }
+
+    public FileRepository<Guest, String> getGuestRepository() {
+        return guestRepository;
+    }
+
+    public FileRepository<Booking, String> getBookingRepository() {
+        return bookingRepository;
+    }
+
+    public FileRepository<Invoice, String> getInvoiceRepository() {
+        return invoiceRepository;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public synchronized RoomService getRoomService() {
+        if (roomService == null) {
+            roomService = new RoomService(roomRepository, getRoomSearchIndex());
+        }
+        return roomService;
+    }
+
+    public synchronized GuestService getGuestService() {
+        if (guestService == null) {
+            guestService = new GuestService(guestRepository, getGuestSearchIndex());
+        }
+        return guestService;
+    }
+
+    public synchronized BookingService getBookingService() {
+        if (bookingService == null) {
+            bookingService = new BookingService(bookingRepository, getRoomService(), settings);
+        }
+        return bookingService;
+    }
+
+    public synchronized InvoiceService getInvoiceService() {
+        if (invoiceService == null) {
+            invoiceService = new InvoiceService(invoiceRepository, getBookingService(), getRoomService(), settings);
+        }
+        return invoiceService;
+    }
+
+    public synchronized BulkCancellationService getBulkCancellationService() {
+        if (bulkCancellationService == null) {
+            bulkCancellationService = new BulkCancellationService(getBookingService(), getInvoiceService());
+        }
+        return bulkCancellationService;
+    }
+
+    public synchronized ExportService getExportService() {
+        if (exportService == null) {
+            exportService = new ExportService(bookingRepository, guestRepository, invoiceRepository);
+        }
+        return exportService;
+    }
+
+    public synchronized GuestDeduplicationService getGuestDeduplicationService() {
+        if (guestDeduplicationService == null) {
+            guestDeduplicationService = new GuestDeduplicationService(guestRepository, bookingRepository);
+        }
+        return guestDeduplicationService;
+    }
+
+    public synchronized GuestSearchIndex getGuestSearchIndex() {
+        if (guestSearchIndex == null) {
+            guestSearchIndex = application ? GuestSearchIndex.getInstance()
+                    : new GuestSearchIndex(guestRepository);
+        }
+        return guestSearchIndex;
+    }
+
+    public synchronized GuestPrefixIndex getGuestPrefixIndex() {
+        if (guestPrefixIndex == null) {
+            guestPrefixIndex = application ? GuestPrefixIndex.getInstance()
+                    : new GuestPrefixIndex(guestRepository, getGuestStatsCache());
+        }
+        return guestPrefixIndex;
+    }
+
+    public synchronized RoomSearchIndex getRoomSearchIndex() {
+        if (roomSearchIndex == null) {
+            roomSearchIndex = application ? RoomSearchIndex.getInstance()
+                    : new RoomSearchIndex(roomRepository);
+        }
+        return roomSearchIndex;
+    }
+
+    public synchronized BookingColumnStore getBookingColumnStore() {
+        if (bookingColumnStore == null) {
+            bookingColumnStore = application ? BookingColumnStore.getInstance()
+                    : new BookingColumnStore(bookingRepository, roomRepository);
+        }
+        return bookingColumnStore;
+    }
+
+    public synchronized OccupancyAnalytics getOccupancyAnalytics() {
+        if (occupancyAnalytics == null) {
+            occupancyAnalytics = new OccupancyAnalytics(getBookingColumnStore());
+        }
+        return occupancyAnalytics;
+    }
+
+    public synchronized RevenueAggregates getRevenueAggregates() {
+        if (revenueAggregates == null) {
+            revenueAggregates = application ? RevenueAggregates.getInstance()
+                    : new RevenueAggregates(bookingRepository, invoiceRepository, roomRepository, settings);
+        }
+        return revenueAggregates;
+    }
+
+    public synchronized GuestStatsCache getGuestStatsCache() {
+        if (guestStatsCache == null) {
+            guestStatsCache = application ? GuestStatsCache.getInstance()
+                    : new GuestStatsCache(bookingRepository);
+        }
+        return guestStatsCache;
+    }
+
+    public synchronized BookingRowProjection getBookingRowProjection() {
+        if (bookingRowProjection == null) {
+            bookingRowProjection = application ? BookingRowProjection.getInstance()
+                    : new BookingRowProjection(bookingRepository, guestRepository, roomRepository, settings);
+        }
+        return bookingRowProjection;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Room;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.util.FormatUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar copy of the booking repository kept up to date from repository
+ * change events. Inserts append a row, updates overwrite their row in place and
+ * deletes move the last row into the hole, so each change costs O(1).
+ *
+ * {@link #snapshot()} hands out an immutable {@link BookingColumns}; the copy is
+ * made once per change and shared by all readers until the next change.
+ */
+public final class BookingColumnStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static volatile BookingColumnStore instance;
+
+    private final FileRepository<Booking, String> bookingRepository;
+    private final FileRepository<Room, String> roomRepository;
+
+    private int size;
+    private String[] bookingIds = new String[INITIAL_CAPACITY];
+    private int[] checkInDays = new int[INITIAL_CAPACITY];
+    private int[] checkOutDays = new int[INITIAL_CAPACITY];
+    private int[] roomIndexes = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private long[] costCents = new long[INITIAL_CAPACITY];
+    private final Map<String, Integer> rowsByBookingId = new HashMap<>();
+
+    private String[] roomNumbers = new String[0];
+    private byte[] roomTypes = new byte[0];
+    private final Map<String, Integer> roomIndexByNumber = new HashMap<>();
+
+    private BookingColumns snapshot;
+
+    private BookingColumnStore() {
+        this(RepositoryFactory.getInstance().getBookingRepository(),
+             RepositoryFactory.getInstance().getRoomRepository());
+    }
+
+    // Constructor for testing
+    public BookingColumnStore(FileRepository<Booking, String> bookingRepository,
+                              FileRepository<Room, String> roomRepository) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        rebuild();
+        bookingRepository.addListener(this::onBookingChanges);
+        roomRepository.addListener(this::onRoomChanges);
+    }
+
+    /**
+     * Returns the shared store, built on first use.
+     */
+    public static BookingColumnStore getInstance() {
+        BookingColumnStore result = instance;
+        if (result == null) {
+            synchronized (BookingColumnStore.class) {
+                result = instance;
+                if (result == null) {
+                    result = new BookingColumnStore();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an immutable columnar view of the bookings as of now.
+     */
+    public synchronized BookingColumns snapshot() {
+        if (snapshot == null) {
+            snapshot = new BookingColumns(size,
+                    Arrays.copyOf(bookingIds, size),
+                    Arrays.copyOf(checkInDays, size),
+                    Arrays.copyOf(checkOutDays, size),
+                    Arrays.copyOf(roomIndexes, size),
+                    Arrays.copyOf(statuses, size),
+                    Arrays.copyOf(costCents, size),
+                    roomNumbers.clone(),
+                    roomTypes.clone());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discard all rows and copy the repositories again.
+     */
+    public synchronized void rebuild() {
+        List<Room> rooms = roomRepository.findAll();
+        roomNumbers = new String[rooms.size()];
+        roomTypes = new byte[rooms.size()];
+        roomIndexByNumber.clear();
+        for (int i = 0; i < roomNumbers.length; i++) {
+            Room room = rooms.get(i);
+            roomNumbers[i] = room.getRoomNumber();
+            roomTypes[i] = (byte) room.getType().ordinal();
+            roomIndexByNumber.put(room.getRoomNumber(), i);
+        }
+
+        size = 0;
+        rowsByBookingId.clear();
+        bookingRepository.forEach(this::put);
+        snapshot = null;
+    }
+
+    private synchronized void onBookingChanges(List<RepositoryEvent<Booking>> events) {
+        for (RepositoryEvent<Booking> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    put(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getBookingId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+        snapshot = null;
+    }
+
+    private synchronized void onRoomChanges(List<RepositoryEvent<Room>> events) {
+        for (RepositoryEvent<Room> event : events) {
+            Room room = event.getEntity();
+            Integer index = room == null ? null : roomIndexByNumber.get(room.getRoomNumber());
+            if (event.getType() == RepositoryEvent.Type.UPDATED && index != null) {
+                roomTypes[index] = (byte) room.getType().ordinal();
+            } else {
+                // New or removed rooms change room indexes; recompute everything
+                rebuild();
+                return;
+            }
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Write a booking into its row, appending one if it is new.
+     */
+    private void put(Booking booking) {
+        Integer existing = rowsByBookingId.get(booking.getBookingId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            if (size == checkInDays.length) {
+                grow();
+            }
+            row = size++;
+            rowsByBookingId.put(booking.getBookingId(), row);
+        }
+        bookingIds[row] = booking.getBookingId();
+        checkInDays[row] = (int) booking.getCheckInDate().toEpochDay();
+        checkOutDays[row] = (int) booking.getCheckOutDate().toEpochDay();
+        roomIndexes[row] = roomIndexByNumber.getOrDefault(booking.getRoomNumber(), -1);
+        statuses[row] = (byte) booking.getStatus().ordinal();
+        costCents[row] = FormatUtil.toCents(booking.getTotalCost());
+    }
+
+    /**
+     * Remove a booking's row by moving the last row into it.
+     */
+    private void remove(String bookingId) {
+        Integer removed = rowsByBookingId.remove(bookingId);
+        if (removed == null) {
+            return;
+        }
+        int row = removed;
+        int last = --size;
+        if (row != last) {
+            bookingIds[row] = bookingIds[last];
+            checkInDays[row] = checkInDays[last];
+            checkOutDays[row] = checkOutDays[last];
+            roomIndexes[row] = roomIndexes[last];
+            statuses[row] = statuses[last];
+            costCents[row] = costCents[last];
+            rowsByBookingId.put(bookingIds[row], row);
+        }
+        bookingIds[last] = null;
+    }
+
+    private void grow() {
+        int capacity = checkInDays.length + (checkInDays.length >> 1);
+        bookingIds = Arrays.copyOf(bookingIds, capacity);
+        checkInDays = Arrays.copyOf(checkInDays, capacity);
+        checkOutDays = Arrays.copyOf(checkOutDays, capacity);
+        roomIndexes = Arrays.copyOf(roomIndexes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        costCents = Arrays.copyOf(costCents, capacity);
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Room;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.model.enums.RoomType;
+import com.example.hotel.util.FormatUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only columnar copy of the bookings for analytical scans.
+ * Row {@code i} of every column describes the same booking; dates are epoch
+ * days, the room is an index into the room columns and the status is the
+ * {@link BookingStatus} ordinal. Bookings whose room is unknown get room index -1.
+ * Row order is not meaningful.
+ *
+ * Scans take a {@link ColumnFilter} and run over the primitive arrays without
+ * creating per-row objects. Use {@link BookingColumnStore} for an up-to-date
+ * snapshot of the repository rather than building one with {@link #of}.
+ */
+public final class BookingColumns {
+
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final int size;
+    private final String[] bookingIds;
+    private final int[] checkInDays;
+    private final int[] checkOutDays;
+    private final int[] roomIndexes;
+    private final byte[] statuses;
+    private final long[] costCents;
+
+    private final String[] roomNumbers;
+    private final byte[] roomTypes;
+
+    BookingColumns(int size, String[] bookingIds, int[] checkInDays, int[] checkOutDays, int[] roomIndexes,
+                   byte[] statuses, long[] costCents, String[] roomNumbers, byte[] roomTypes) {
+        this.size = size;
+        this.bookingIds = bookingIds;
+        this.checkInDays = checkInDays;
+        this.checkOutDays = checkOutDays;
+        this.roomIndexes = roomIndexes;
+        this.statuses = statuses;
+        this.costCents = costCents;
+        this.roomNumbers = roomNumbers;
+        this.roomTypes = roomTypes;
+    }
+
+    /**
+     * Build columns from bookings and the rooms they refer to.
+     */
+    public static BookingColumns of(Collection<Booking> bookings, List<Room> rooms) {
+        String[] roomNumbers = new String[rooms.size()];
+        byte[] roomTypes = new byte[rooms.size()];
+        Map<String, Integer> roomIndex = new HashMap<>();
+        for (int i = 0; i < roomNumbers.length; i++) {
+            Room room = rooms.get(i);
+            roomNumbers[i] = room.getRoomNumber();
+            roomTypes[i] = (byte) room.getType().ordinal();
+            roomIndex.put(room.getRoomNumber(), i);
+        }
+
+        int n = bookings.size();
+        String[] ids = new String[n];
+        int[] checkIn = new int[n];
+        int[] checkOut = new int[n];
+        int[] roomIdx = new int[n];
+        byte[] status = new byte[n];
+        long[] cost = new long[n];
+        int i = 0;
+        for (Booking booking : bookings) {
+            ids[i] = booking.getBookingId();
+            checkIn[i] = (int) booking.getCheckInDate().toEpochDay();
+            checkOut[i] = (int) booking.getCheckOutDate().toEpochDay();
+            roomIdx[i] = roomIndex.getOrDefault(booking.getRoomNumber(), -1);
+            status[i] = (byte) booking.getStatus().ordinal();
+            cost[i] = FormatUtil.toCents(booking.getTotalCost());
+            i++;
+        }
+        return new BookingColumns(n, ids, checkIn, checkOut, roomIdx, status, cost, roomNumbers, roomTypes);
+    }
+
+    /** Number of bookings. */
+    public int size() {
+        return size;
+    }
+
+    public String bookingId(int row) {
+        return bookingIds[row];
+    }
+
+    public int checkInDay(int row) {
+        return checkInDays[row];
+    }
+
+    public int checkOutDay(int row) {
+        return checkOutDays[row];
+    }
+
+    /** Room index of a booking, or -1 if its room is unknown. */
+    public int roomIndex(int row) {
+        return roomIndexes[row];
+    }
+
+    public BookingStatus status(int row) {
+        return STATUSES[statuses[row]];
+    }
+
+    public long costCents(int row) {
+        return costCents[row];
+    }
+
+    /** Number of rooms. */
+    public int roomCount() {
+        return roomNumbers.length;
+    }
+
+    public String roomNumber(int roomIndex) {
+        return roomNumbers[roomIndex];
+    }
+
+    public RoomType roomType(int roomIndex) {
+        return ROOM_TYPES[roomTypes[roomIndex]];
+    }
+
+    /**
+     * Count the rows accepted by a filter.
+     */
+    public int count(ColumnFilter filter) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (accepts(filter, row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum the cost in cents of the rows accepted by a filter.
+     */
+    public long sumCostCents(ColumnFilter filter) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (accepts(filter, row)) {
+                total += costCents[row];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sum the nights of the rows accepted by a filter.
+     */
+    public long sumNights(ColumnFilter filter) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (accepts(filter, row)) {
+                total += checkOutDays[row] - checkInDays[row];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the indexes of the rows accepted by a filter, in row order.
+     */
+    public int[] select(ColumnFilter filter) {
+        int[] rows = new int[Math.min(size, 64)];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (accepts(filter, row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Call an action with the index of each row accepted by a filter.
+     */
+    public void forEach(ColumnFilter filter, IntConsumer action) {
+        for (int row = 0; row < size; row++) {
+            if (accepts(filter, row)) {
+                action.accept(row);
+            }
+        }
+    }
+
+    /**
+     * Returns the booking IDs of the rows accepted by a filter.
+     */
+    public List<String> selectBookingIds(ColumnFilter filter) {
+        List<String> ids = new ArrayList<>();
+        forEach(filter, row -> ids.add(bookingIds[row]));
+        return ids;
+    }
+
+    private boolean accepts(ColumnFilter filter, int row) {
+        int room = roomIndexes[row];
+        return filter.accepts(checkInDays[row], checkOutDays[row], statuses[row],
+                room < 0 ? -1 : roomTypes[room]);
+    }
+
+    // Raw column access for scans within the package
+
+    int[] checkInColumn() {
+        return checkInDays;
+    }
+
+    int[] checkOutColumn() {
+        return checkOutDays;
+    }
+
+    int[] roomColumn() {
+        return roomIndexes;
+    }
+
+    byte[] statusColumn() {
+        return statuses;
+    }
+
+    long[] costColumn() {
+        return costCents;
+    }
+
+    byte[] roomTypeColumn() {
+        return roomTypes;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.model.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Immutable row filter for {@link BookingColumns} scans: allowed statuses and
+ * room types as bit masks, plus optional check-in and stay date ranges as epoch
+ * days. Each "with" method returns a new filter.
+ */
+public final class ColumnFilter {
+
+    private static final int ALL_STATUSES = (1 << BookingStatus.values().length) - 1;
+    private static final int ALL_ROOM_TYPES = (1 << RoomType.values().length) - 1;
+
+    private static final ColumnFilter ALL = new ColumnFilter(ALL_STATUSES, ALL_ROOM_TYPES,
+            Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+    private final int statusMask;
+    private final int roomTypeMask;
+    private final int checkInFrom;
+    private final int checkInTo;
+    private final int stayFrom;
+    private final int stayTo;
+
+    private ColumnFilter(int statusMask, int roomTypeMask, int checkInFrom, int checkInTo,
+                         int stayFrom, int stayTo) {
+        this.statusMask = statusMask;
+        this.roomTypeMask = roomTypeMask;
+        this.checkInFrom = checkInFrom;
+        this.checkInTo = checkInTo;
+        this.stayFrom = stayFrom;
+        this.stayTo = stayTo;
+    }
+
+    /**
+     * Returns a filter that accepts every row.
+     */
+    public static ColumnFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Restrict to rows with one of the given statuses.
+     */
+    public ColumnFilter withStatuses(Collection<BookingStatus> statuses) {
+        int mask = 0;
+        for (BookingStatus status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        return new ColumnFilter(mask, roomTypeMask, checkInFrom, checkInTo, stayFrom, stayTo);
+    }
+
+    /**
+     * Restrict to rows whose room has one of the given types.
+     * Rows with an unknown room are then rejected.
+     */
+    public ColumnFilter withRoomTypes(Collection<RoomType> types) {
+        int mask = 0;
+        for (RoomType type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        return new ColumnFilter(statusMask, mask, checkInFrom, checkInTo, stayFrom, stayTo);
+    }
+
+    /**
+     * Restrict to bookings checking in between the given dates (both inclusive).
+     * Either bound may be null to leave that side open.
+     */
+    public ColumnFilter withCheckInBetween(LocalDate from, LocalDate to) {
+        return new ColumnFilter(statusMask, roomTypeMask, lowerBound(from), upperBound(to), stayFrom, stayTo);
+    }
+
+    /**
+     * Restrict to bookings with at least one night between the given dates (both inclusive).
+     * Either bound may be null to leave that side open.
+     */
+    public ColumnFilter withStayOverlapping(LocalDate from, LocalDate to) {
+        return new ColumnFilter(statusMask, roomTypeMask, checkInFrom, checkInTo, lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * Check whether a row passes this filter.
+     */
+    boolean accepts(int checkIn, int checkOut, int status, int roomType) {
+        return (statusMask & (1 << status)) != 0
+                && (roomTypeMask == ALL_ROOM_TYPES || (roomType >= 0 && (roomTypeMask & (1 << roomType)) != 0))
+                && checkIn >= checkInFrom && checkIn <= checkInTo
+                && checkIn <= stayTo && checkOut > stayFrom;
+    }
+
+    private static int lowerBound(LocalDate date) {
+        return date == null ? Integer.MIN_VALUE : (int) date.toEpochDay();
+    }
+
+    private static int upperBound(LocalDate date) {
+        return date == null ? Integer.MAX_VALUE : (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hotel.service.analytics;
+
+/**
+ * Fenwick (binary indexed) tree of amounts in cents, indexed by epoch day.
+ * Point updates and range sums are O(log n); the covered day range grows
+ * on demand in either direction.
+ */
+final class DailyFenwickTree {
+
+    private static final int INITIAL_CAPACITY = 512;
+
+    private long originDay;
+    private long[] tree = new long[0]; // 1-based, tree.length - 1 days
+
+    /**
+     * Add an amount to a day.
+     */
+    void add(long epochDay, long cents) {
+        if (cents == 0) {
+            return;
+        }
+        ensureCovers(epochDay);
+        int n = tree.length - 1;
+        for (int i = (int) (epochDay - originDay) + 1; i <= n; i += i & -i) {
+            tree[i] += cents;
+        }
+    }
+
+    /**
+     * Sum of all days from {@code fromDay} to {@code toDay}, both inclusive.
+     */
+    long sum(long fromDay, long toDay) {
+        if (tree.length == 0 || toDay < fromDay) {
+            return 0;
+        }
+        long last = originDay + tree.length - 2;
+        long from = Math.max(fromDay, originDay);
+        long to = Math.min(toDay, last);
+        if (to < from) {
+            return 0;
+        }
+        return prefix((int) (to - originDay) + 1) - prefix((int) (from - originDay));
+    }
+
+    /**
+     * Drop all amounts.
+     */
+    void clear() {
+        tree = new long[0];
+    }
+
+    /**
+     * Sum of the first {@code count} days.
+     */
+    private long prefix(int count) {
+        long total = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            total += tree[i];
+        }
+        return total;
+    }
+
+    private void ensureCovers(long epochDay) {
+        if (tree.length == 0) {
+            originDay = epochDay - INITIAL_CAPACITY / 2;
+            tree = new long[INITIAL_CAPACITY + 1];
+            return;
+        }
+        int n = tree.length - 1;
+        long last = originDay + n - 1;
+        if (epochDay >= originDay && epochDay <= last) {
+            return;
+        }
+
+        // Recover the per-day amounts (reverse of the linear build), then
+        // rebuild over a range at least twice as wide.
+        long[] points = tree.clone();
+        for (int i = n; i > 0; i--) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                points[parent] -= points[i];
+            }
+        }
+
+        long newOrigin = epochDay < originDay ? Math.min(epochDay, last + 1 - 2L * n) : originDay;
+        long newLast = epochDay > last ? Math.max(epochDay, originDay - 1 + 2L * n) : last;
+        int newN = Math.toIntExact(newLast - newOrigin + 1);
+        int shift = (int) (originDay - newOrigin);
+
+        long[] rebuilt = new long[newN + 1];
+        System.arraycopy(points, 1, rebuilt, shift + 1, n);
+        for (int i = 1; i <= newN; i++) {
+            int parent = i + (i & -i);
+            if (parent <= newN) {
+                rebuilt[parent] += rebuilt[i];
+            }
+        }
+        originDay = newOrigin;
+        tree = rebuilt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hotel.service.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Lifetime figures for one guest.
+ */
+public final class GuestStats {
+
+    /** Figures for a guest without bookings. */
+    public static final GuestStats EMPTY = new GuestStats(0, 0, 0, null);
+
+    private final int stayCount;
+    private final long totalNights;
+    private final long spendCents;
+    private final LocalDate lastStay;
+
+    public GuestStats(int stayCount, long totalNights, long spendCents, LocalDate lastStay) {
+        this.stayCount = stayCount;
+        this.totalNights = totalNights;
+        this.spendCents = spendCents;
+        this.lastStay = lastStay;
+    }
+
+    /** Number of bookings that were not cancelled. */
+    public int getStayCount() {
+        return stayCount;
+    }
+
+    /** Nights of the bookings that were not cancelled. */
+    public long getTotalNights() {
+        return totalNights;
+    }
+
+    /**
+     * Amount paid over all bookings: the total cost less any refund.
+     */
+    public double getLifetimeSpend() {
+        return spendCents / 100.0;
+    }
+
+    /**
+     * Check-in date of the latest booking that was not cancelled, or null if none.
+     */
+    public LocalDate getLastStay() {
+        return lastStay;
+    }
+
+    /** True if the guest has stayed (or is booked) more than once. */
+    public boolean isRepeatGuest() {
+        return stayCount > 1;
+    }
+}
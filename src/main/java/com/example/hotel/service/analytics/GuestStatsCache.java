@@ -0,0 +1,208 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.util.FormatUtil;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-guest stay count, nights, lifetime spend and last stay, maintained
+ * incrementally from booking repository events.
+ *
+ * Each guest ID is given a dense ordinal once; the counters live in primitive
+ * arrays indexed by it, so a lookup is one hash probe and four array reads.
+ * The contribution of every booking is remembered, so a change subtracts the
+ * old values before adding the new ones. The last stay is a maximum and cannot
+ * be subtracted; when the booking holding it goes away the guest is marked and
+ * recomputed on the next read.
+ */
+public final class GuestStatsCache {
+
+    private static final int NO_STAY = Integer.MIN_VALUE;
+
+    private static volatile GuestStatsCache instance;
+
+    private final FileRepository<Booking, String> bookingRepository;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private int guestCount;
+    private int[] stayCounts = new int[64];
+    private long[] nights = new long[64];
+    private long[] spendCents = new long[64];
+    private int[] lastStayDays = new int[64];
+    private final BitSet staleLastStay = new BitSet();
+
+    private final Map<String, Contribution> contributions = new HashMap<>();
+
+    private GuestStatsCache() {
+        this(RepositoryFactory.getInstance().getBookingRepository());
+    }
+
+    // Constructor for testing
+    public GuestStatsCache(FileRepository<Booking, String> bookingRepository) {
+        this.bookingRepository = bookingRepository;
+        rebuild();
+        bookingRepository.addListener(this::onBookingChanges);
+    }
+
+    /**
+     * Returns the shared cache, built on first use.
+     */
+    public static GuestStatsCache getInstance() {
+        GuestStatsCache result = instance;
+        if (result == null) {
+            synchronized (GuestStatsCache.class) {
+                result = instance;
+                if (result == null) {
+                    result = new GuestStatsCache();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the figures for a guest; {@link GuestStats#EMPTY} if the guest has no bookings.
+     */
+    public synchronized GuestStats get(String guestId) {
+        Integer ordinal = ordinals.get(guestId);
+        if (ordinal == null) {
+            return GuestStats.EMPTY;
+        }
+        if (!staleLastStay.isEmpty()) {
+            recomputeLastStays();
+        }
+        int g = ordinal;
+        int last = lastStayDays[g];
+        return new GuestStats(stayCounts[g], nights[g], spendCents[g],
+                last == NO_STAY ? null : LocalDate.ofEpochDay(last));
+    }
+
+    /**
+     * Discard all figures and recompute them from the repository.
+     */
+    public synchronized void rebuild() {
+        ordinals.clear();
+        contributions.clear();
+        staleLastStay.clear();
+        guestCount = 0;
+        bookingRepository.forEach(this::add);
+    }
+
+    private synchronized void onBookingChanges(List<RepositoryEvent<Booking>> events) {
+        for (RepositoryEvent<Booking> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    remove(event.getEntity().getBookingId());
+                    add(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getBookingId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private void add(Booking booking) {
+        if (booking.getGuestId() == null) {
+            return;
+        }
+        int g = ordinalOf(booking.getGuestId());
+        boolean stay = booking.getStatus() != BookingStatus.CANCELLED && booking.getCheckInDate() != null;
+        long bookingNights = stay ? booking.getNumberOfNights() : 0;
+        long spend = FormatUtil.toCents(booking.getTotalCost()) - FormatUtil.toCents(booking.getRefundAmount());
+        int checkInDay = stay ? (int) booking.getCheckInDate().toEpochDay() : NO_STAY;
+
+        if (stay) {
+            stayCounts[g]++;
+            nights[g] += bookingNights;
+            lastStayDays[g] = Math.max(lastStayDays[g], checkInDay);
+        }
+        spendCents[g] += spend;
+        contributions.put(booking.getBookingId(), new Contribution(g, stay, bookingNights, spend, checkInDay));
+    }
+
+    private void remove(String bookingId) {
+        Contribution c = contributions.remove(bookingId);
+        if (c == null) {
+            return;
+        }
+        if (c.stay) {
+            stayCounts[c.guest]--;
+            nights[c.guest] -= c.nights;
+            if (c.checkInDay == lastStayDays[c.guest]) {
+                staleLastStay.set(c.guest);
+            }
+        }
+        spendCents[c.guest] -= c.spendCents;
+    }
+
+    /**
+     * Recompute the last stay of every marked guest from the remembered contributions.
+     */
+    private void recomputeLastStays() {
+        for (int g = staleLastStay.nextSetBit(0); g >= 0; g = staleLastStay.nextSetBit(g + 1)) {
+            lastStayDays[g] = NO_STAY;
+        }
+        for (Contribution c : contributions.values()) {
+            if (c.stay && staleLastStay.get(c.guest)) {
+                lastStayDays[c.guest] = Math.max(lastStayDays[c.guest], c.checkInDay);
+            }
+        }
+        staleLastStay.clear();
+    }
+
+    private int ordinalOf(String guestId) {
+        Integer existing = ordinals.get(guestId);
+        if (existing != null) {
+            return existing;
+        }
+        int g = guestCount++;
+        if (g == stayCounts.length) {
+            int capacity = g * 2;
+            stayCounts = Arrays.copyOf(stayCounts, capacity);
+            nights = Arrays.copyOf(nights, capacity);
+            spendCents = Arrays.copyOf(spendCents, capacity);
+            lastStayDays = Arrays.copyOf(lastStayDays, capacity);
+        }
+        stayCounts[g] = 0;
+        nights[g] = 0;
+        spendCents[g] = 0;
+        lastStayDays[g] = NO_STAY;
+        ordinals.put(guestId, g);
+        return g;
+    }
+
+    /**
+     * What a booking has added to its guest's counters.
+     */
+    private static final class Contribution {
+        final int guest;
+        final boolean stay;
+        final long nights;
+        final long spendCents;
+        final int checkInDay;
+
+        Contribution(int guest, boolean stay, long nights, long spendCents, int checkInDay) {
+            this.guest = guest;
+            this.stay = stay;
+            this.nights = nights;
+            this.spendCents = spendCents;
+            this.checkInDay = checkInDay;
+        }
+    }
+}
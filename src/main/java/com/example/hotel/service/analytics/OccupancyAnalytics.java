@@ -0,0 +1,244 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.model.enums.RoomType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Occupancy rate, average daily rate (ADR) and revenue per available room (RevPAR)
+ * for any date range, optionally split by room type, weekday or month.
+ *
+ * Reports are parallel fork-join reductions over a {@link BookingColumns}
+ * snapshot: each leaf scans a slice of the primitive columns into per-group
+ * counters, which are summed on the way back up. Cancelled bookings are ignored;
+ * every room in the repository counts as available for every night.
+ */
+public class OccupancyAnalytics {
+
+    /** Bookings per leaf task. */
+    private static final int SPLIT_THRESHOLD = 16_384;
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final byte CANCELLED = (byte) BookingStatus.CANCELLED.ordinal();
+
+    private final BookingColumnStore columnStore;
+
+    // Timeline of the last snapshot asked for; rebuilt when the snapshot changes
+    private BookingColumns timelineColumns;
+    private OccupancyTimeline timeline;
+
+    public OccupancyAnalytics() {
+        this(BookingColumnStore.getInstance());
+    }
+
+    // Constructor for testing
+    public OccupancyAnalytics(BookingColumnStore columnStore) {
+        this.columnStore = columnStore;
+    }
+
+    /**
+     * Build a report over the current bookings.
+     * @param from first night of the range
+     * @param to   last night of the range (inclusive)
+     */
+    public OccupancyReport report(LocalDate from, LocalDate to, OccupancyGrouping grouping) {
+        return report(columnStore.snapshot(), from, to, grouping);
+    }
+
+    /**
+     * Returns the rooms-by-days timeline of the current bookings.
+     * It is built once per change to the bookings and shared until the next one.
+     */
+    public synchronized OccupancyTimeline timeline() {
+        BookingColumns columns = columnStore.snapshot();
+        if (columns != timelineColumns) {
+            timeline = OccupancyTimeline.of(columns);
+            timelineColumns = columns;
+        }
+        return timeline;
+    }
+
+    /**
+     * Build a report over a columnar snapshot.
+     * @param from first night of the range
+     * @param to   last night of the range (inclusive)
+     */
+    public static OccupancyReport report(BookingColumns columns, LocalDate from, LocalDate to,
+                                         OccupancyGrouping grouping) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Report end " + to + " is before start " + from);
+        }
+        int fromDay = (int) from.toEpochDay();
+        int days = (int) (to.toEpochDay() - fromDay) + 1;
+
+        // Group of each night in the range (weekday/month) or of each room (room type)
+        List<String> labels = new ArrayList<>();
+        int[] dayGroups = null;
+        byte[] roomGroups = null;
+        switch (grouping) {
+            case NONE:
+                labels.add(OccupancyGrouping.NONE.getDisplayName());
+                roomGroups = new byte[columns.roomCount()];
+                break;
+            case ROOM_TYPE:
+                for (RoomType type : ROOM_TYPES) {
+                    labels.add(type.getDisplayName());
+                }
+                roomGroups = columns.roomTypeColumn();
+                break;
+            case WEEKDAY:
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    labels.add(day.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+                }
+                dayGroups = new int[days];
+                for (int d = 0; d < days; d++) {
+                    dayGroups[d] = Math.floorMod(fromDay + d + 3, 7); // 1970-01-01 was a Thursday
+                }
+                break;
+            case MONTH:
+                YearMonth first = YearMonth.from(from);
+                for (YearMonth month = first; !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                    labels.add(month.toString());
+                }
+                dayGroups = new int[days];
+                for (int d = 0; d < days; d++) {
+                    LocalDate night = from.plusDays(d);
+                    dayGroups[d] = (night.getYear() - first.getYear()) * 12
+                            + night.getMonthValue() - first.getMonthValue();
+                }
+                break;
+        }
+        int groupCount = labels.size();
+
+        // Available room-nights per group
+        long[] available = new long[groupCount];
+        if (dayGroups == null) {
+            for (byte group : roomGroups) {
+                available[group] += days;
+            }
+        } else {
+            for (int group : dayGroups) {
+                available[group] += columns.roomCount();
+            }
+        }
+
+        long[] counters = ForkJoinPool.commonPool().invoke(new ScanTask(columns, fromDay, fromDay + days,
+                dayGroups, roomGroups, groupCount, 0, columns.size()));
+
+        List<OccupancyStats> groups = new ArrayList<>(groupCount);
+        long totalAvailable = 0;
+        long totalSold = 0;
+        long totalRevenue = 0;
+        for (int g = 0; g < groupCount; g++) {
+            groups.add(new OccupancyStats(labels.get(g), available[g], counters[g], counters[groupCount + g]));
+            totalAvailable += available[g];
+            totalSold += counters[g];
+            totalRevenue += counters[groupCount + g];
+        }
+        OccupancyStats total = new OccupancyStats(OccupancyGrouping.NONE.getDisplayName(),
+                totalAvailable, totalSold, totalRevenue);
+        return new OccupancyReport(from, to, grouping, groups, total);
+    }
+
+    /**
+     * Sums sold room-nights and revenue cents per group over a slice of rows.
+     * The result holds the sold nights of each group followed by its revenue.
+     */
+    private static final class ScanTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final BookingColumns columns;
+        private final int fromDay;
+        private final int endDay;
+        private final int[] dayGroups;
+        private final byte[] roomGroups;
+        private final int groupCount;
+        private final int start;
+        private final int end;
+
+        ScanTask(BookingColumns columns, int fromDay, int endDay, int[] dayGroups, byte[] roomGroups,
+                 int groupCount, int start, int end) {
+            this.columns = columns;
+            this.fromDay = fromDay;
+            this.endDay = endDay;
+            this.dayGroups = dayGroups;
+            this.roomGroups = roomGroups;
+            this.groupCount = groupCount;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start > SPLIT_THRESHOLD) {
+                int mid = (start + end) >>> 1;
+                ScanTask left = new ScanTask(columns, fromDay, endDay, dayGroups, roomGroups, groupCount, start, mid);
+                ScanTask right = new ScanTask(columns, fromDay, endDay, dayGroups, roomGroups, groupCount, mid, end);
+                left.fork();
+                long[] result = right.compute();
+                long[] other = left.join();
+                for (int i = 0; i < result.length; i++) {
+                    result[i] += other[i];
+                }
+                return result;
+            }
+            return scan();
+        }
+
+        private long[] scan() {
+            int[] checkIn = columns.checkInColumn();
+            int[] checkOut = columns.checkOutColumn();
+            int[] rooms = columns.roomColumn();
+            byte[] statuses = columns.statusColumn();
+            long[] costs = columns.costColumn();
+            long[] result = new long[groupCount * 2];
+
+            for (int i = start; i < end; i++) {
+                int room = rooms[i];
+                if (statuses[i] == CANCELLED || room < 0) {
+                    continue;
+                }
+                int in = checkIn[i];
+                int nights = checkOut[i] - in;
+                int first = Math.max(in, fromDay);
+                int last = Math.min(checkOut[i], endDay);
+                if (nights <= 0 || first >= last) {
+                    continue;
+                }
+                long cost = costs[i];
+                if (dayGroups == null) {
+                    int group = roomGroups[room];
+                    result[group] += last - first;
+                    result[groupCount + group] += revenueBefore(cost, last - in, nights)
+                            - revenueBefore(cost, first - in, nights);
+                } else {
+                    for (int day = first; day < last; day++) {
+                        int group = dayGroups[day - fromDay];
+                        int k = day - in;
+                        result[group]++;
+                        result[groupCount + group] += revenueBefore(cost, k + 1, nights)
+                                - revenueBefore(cost, k, nights);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Revenue of the first {@code k} nights of a stay, splitting the cost so
+         * the nights always add up to the exact total.
+         */
+        private static long revenueBefore(long cost, int k, int nights) {
+            return cost * k / nights;
+        }
+    }
+}
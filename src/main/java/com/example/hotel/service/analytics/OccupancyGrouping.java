@@ -0,0 +1,30 @@
+package com.example.hotel.service.analytics;
+
+/**
+ * How an occupancy report splits its date range.
+ */
+public enum OccupancyGrouping {
+    /** One row for the whole range. */
+    NONE("Total"),
+    /** One row per room type. */
+    ROOM_TYPE("Room Type"),
+    /** One row per day of the week, Monday first. */
+    WEEKDAY("Weekday"),
+    /** One row per calendar month touched by the range. */
+    MONTH("Month");
+
+    private final String displayName;
+
+    OccupancyGrouping(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
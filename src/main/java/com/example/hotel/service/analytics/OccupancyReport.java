@@ -0,0 +1,54 @@
+package com.example.hotel.service.analytics;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Occupancy, ADR and RevPAR for a date range, split by a grouping.
+ */
+public final class OccupancyReport {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final OccupancyGrouping grouping;
+    private final List<OccupancyStats> groups;
+    private final OccupancyStats total;
+
+    public OccupancyReport(LocalDate from, LocalDate to, OccupancyGrouping grouping,
+                           List<OccupancyStats> groups, OccupancyStats total) {
+        this.from = from;
+        this.to = to;
+        this.grouping = grouping;
+        this.groups = Collections.unmodifiableList(groups);
+        this.total = total;
+    }
+
+    /** First night of the range. */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /** Last night of the range (inclusive). */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public OccupancyGrouping getGrouping() {
+        return grouping;
+    }
+
+    /**
+     * Returns one entry per group, in natural order (room type, weekday or month).
+     */
+    public List<OccupancyStats> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Returns the figures for the whole range.
+     */
+    public OccupancyStats getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.hotel.service.analytics;
+
+/**
+ * Occupancy figures for one group of an {@link OccupancyReport}.
+ * Revenue is the amount charged to guests (VAT included), spread evenly over
+ * the nights of each stay.
+ */
+public final class OccupancyStats {
+
+    private final String label;
+    private final long availableRoomNights;
+    private final long soldRoomNights;
+    private final long revenueCents;
+
+    public OccupancyStats(String label, long availableRoomNights, long soldRoomNights, long revenueCents) {
+        this.label = label;
+        this.availableRoomNights = availableRoomNights;
+        this.soldRoomNights = soldRoomNights;
+        this.revenueCents = revenueCents;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getAvailableRoomNights() {
+        return availableRoomNights;
+    }
+
+    public long getSoldRoomNights() {
+        return soldRoomNights;
+    }
+
+    public double getRevenue() {
+        return revenueCents / 100.0;
+    }
+
+    /**
+     * Sold room-nights divided by available room-nights (0 to 1).
+     */
+    public double getOccupancyRate() {
+        return availableRoomNights == 0 ? 0 : (double) soldRoomNights / availableRoomNights;
+    }
+
+    /**
+     * Average daily rate: revenue per sold room-night.
+     */
+    public double getAverageDailyRate() {
+        return soldRoomNights == 0 ? 0 : revenueCents / 100.0 / soldRoomNights;
+    }
+
+    /**
+     * Revenue per available room-night.
+     */
+    public double getRevPar() {
+        return availableRoomNights == 0 ? 0 : revenueCents / 100.0 / availableRoomNights;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: occupancy %.1f%%, ADR %.2f, RevPAR %.2f",
+                label, getOccupancyRate() * 100, getAverageDailyRate(), getRevPar());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.model.enums.RoomType;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntConsumer;
+
+/**
+ * Rooms-by-days index of the bookings in a {@link BookingColumns} snapshot,
+ * for drawing an occupancy timeline.
+ *
+ * Rooms are laid out as lines sorted by room number. The bookings of each line
+ * are stored together, ordered by check-in, with the running maximum of their
+ * check-out dates; the bookings touching a range of days are found with one
+ * binary search per line, so drawing only costs the bookings on screen.
+ * Cancelled bookings and bookings of unknown rooms are left out.
+ */
+public final class OccupancyTimeline {
+
+    private final BookingColumns columns;
+    // Room index of each line
+    private final int[] lineRooms;
+    // Bookings of line i are rows[lineStarts[i]] .. rows[lineStarts[i + 1] - 1]
+    private final int[] lineStarts;
+    private final int[] rows;
+    // Latest check-out of the line's bookings up to and including each position
+    private final int[] reach;
+
+    private OccupancyTimeline(BookingColumns columns, int[] lineRooms, int[] lineStarts, int[] rows, int[] reach) {
+        this.columns = columns;
+        this.lineRooms = lineRooms;
+        this.lineStarts = lineStarts;
+        this.rows = rows;
+        this.reach = reach;
+    }
+
+    /**
+     * Index the bookings of a snapshot.
+     */
+    public static OccupancyTimeline of(BookingColumns columns) {
+        int roomCount = columns.roomCount();
+        Integer[] order = new Integer[roomCount];
+        for (int i = 0; i < roomCount; i++) {
+            order[i] = i;
+        }
+        // Shorter numbers first, so "99" comes before "101"
+        Arrays.sort(order, Comparator.comparingInt((Integer room) -> columns.roomNumber(room).length())
+                .thenComparing(columns::roomNumber));
+        int[] lineRooms = new int[roomCount];
+        int[] lineOfRoom = new int[roomCount];
+        for (int line = 0; line < roomCount; line++) {
+            lineRooms[line] = order[line];
+            lineOfRoom[order[line]] = line;
+        }
+
+        int[] lineStarts = new int[roomCount + 1];
+        for (int row = 0; row < columns.size(); row++) {
+            if (occupies(columns, row)) {
+                lineStarts[lineOfRoom[columns.roomIndex(row)] + 1]++;
+            }
+        }
+        for (int line = 0; line < roomCount; line++) {
+            lineStarts[line + 1] += lineStarts[line];
+        }
+
+        // Pack (check-in, row) so one sort per line orders its bookings
+        long[] packed = new long[lineStarts[roomCount]];
+        int[] fill = Arrays.copyOf(lineStarts, roomCount);
+        for (int row = 0; row < columns.size(); row++) {
+            if (occupies(columns, row)) {
+                int line = lineOfRoom[columns.roomIndex(row)];
+                packed[fill[line]++] = ((long) columns.checkInDay(row) << 32) | row;
+            }
+        }
+
+        int[] rows = new int[packed.length];
+        int[] reach = new int[packed.length];
+        for (int line = 0; line < roomCount; line++) {
+            Arrays.sort(packed, lineStarts[line], lineStarts[line + 1]);
+            int latest = Integer.MIN_VALUE;
+            for (int i = lineStarts[line]; i < lineStarts[line + 1]; i++) {
+                rows[i] = (int) packed[i];
+                latest = Math.max(latest, columns.checkOutDay(rows[i]));
+                reach[i] = latest;
+            }
+        }
+        return new OccupancyTimeline(columns, lineRooms, lineStarts, rows, reach);
+    }
+
+    /** The snapshot the timeline was built from; booking rows refer to it. */
+    public BookingColumns getColumns() {
+        return columns;
+    }
+
+    /** Number of lines, one per room. */
+    public int roomCount() {
+        return lineRooms.length;
+    }
+
+    public String roomNumber(int line) {
+        return columns.roomNumber(lineRooms[line]);
+    }
+
+    public RoomType roomType(int line) {
+        return columns.roomType(lineRooms[line]);
+    }
+
+    /**
+     * Visit the bookings of a room that occupy any night from {@code fromDay}
+     * up to but excluding {@code toDay}, in check-in order.
+     * @param action receives the booking's row in {@link #getColumns()}
+     */
+    public void forEach(int line, int fromDay, int toDay, IntConsumer action) {
+        int end = lineStarts[line + 1];
+        for (int i = firstReaching(line, fromDay); i < end; i++) {
+            int row = rows[i];
+            if (columns.checkInDay(row) >= toDay) {
+                break;
+            }
+            if (columns.checkOutDay(row) > fromDay) {
+                action.accept(row);
+            }
+        }
+    }
+
+    /**
+     * Returns the row of the booking occupying a room on a night, or -1 if the room is free.
+     */
+    public int bookingAt(int line, int day) {
+        int end = lineStarts[line + 1];
+        for (int i = firstReaching(line, day); i < end && columns.checkInDay(rows[i]) <= day; i++) {
+            if (columns.checkOutDay(rows[i]) > day) {
+                return rows[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First position of the line whose bookings so far reach past the day.
+     */
+    private int firstReaching(int line, int day) {
+        int low = lineStarts[line];
+        int high = lineStarts[line + 1];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (reach[mid] > day) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean occupies(BookingColumns columns, int row) {
+        return columns.roomIndex(row) >= 0 && columns.status(row) != BookingStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.hotel.service.analytics;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.model.Room;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.model.enums.RoomType;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.persistence.Settings;
+import com.example.hotel.util.FormatUtil;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incrementally maintained revenue totals by day, room type and booking status.
+ *
+ * Each booking contributes its net revenue and VAT spread over its nights and
+ * its refund on the check-in date. Amounts come from the booking's invoice when
+ * there is one, otherwise from the booking total and the VAT rate in effect on
+ * the check-in date. The contribution of every booking is remembered, so a
+ * change subtracts the old amounts before adding the new ones.
+ *
+ * Totals live in one Fenwick tree per metric, room type and status, so any
+ * date-range total costs O(log n) in the number of days covered. The
+ * aggregates follow the booking, invoice and room repositories and the
+ * settings through their change listeners.
+ */
+public final class RevenueAggregates {
+
+    /** Statuses whose bookings count as earned revenue. */
+    public static final Set<BookingStatus> REVENUE_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED));
+
+    private static final RevenueMetric[] METRICS = RevenueMetric.values();
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private static volatile RevenueAggregates instance;
+
+    private final FileRepository<Booking, String> bookingRepository;
+    private final FileRepository<Invoice, String> invoiceRepository;
+    private final FileRepository<Room, String> roomRepository;
+    private final Settings settings;
+
+    // trees[metric][roomType * STATUSES.length + status]
+    private final DailyFenwickTree[][] trees;
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Map<String, Invoice> invoicesByBooking = new HashMap<>();
+    private final Map<String, RoomType> roomTypes = new HashMap<>();
+
+    private RevenueAggregates() {
+        this(RepositoryFactory.getInstance().getBookingRepository(),
+             RepositoryFactory.getInstance().getInvoiceRepository(),
+             RepositoryFactory.getInstance().getRoomRepository(),
+             Settings.getInstance());
+    }
+
+    // Constructor for testing
+    public RevenueAggregates(FileRepository<Booking, String> bookingRepository,
+                             FileRepository<Invoice, String> invoiceRepository,
+                             FileRepository<Room, String> roomRepository,
+                             Settings settings) {
+        this.bookingRepository = bookingRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.roomRepository = roomRepository;
+        this.settings = settings;
+
+        trees = new DailyFenwickTree[METRICS.length][ROOM_TYPES.length * STATUSES.length];
+        for (DailyFenwickTree[] row : trees) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new DailyFenwickTree();
+            }
+        }
+
+        rebuild();
+        bookingRepository.addListener(this::onBookingChanges);
+        invoiceRepository.addListener(this::onInvoiceChanges);
+        roomRepository.addListener(this::onRoomChanges);
+        settings.addChangeListener(snapshot -> rebuild());
+    }
+
+    /**
+     * Returns the shared aggregates, built on first use.
+     */
+    public static RevenueAggregates getInstance() {
+        RevenueAggregates result = instance;
+        if (result == null) {
+            synchronized (RevenueAggregates.class) {
+                result = instance;
+                if (result == null) {
+                    result = new RevenueAggregates();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Total of a metric over a date range (inclusive) across all room types and statuses.
+     */
+    public double getTotal(RevenueMetric metric, LocalDate from, LocalDate to) {
+        return getTotal(metric, from, to, EnumSet.allOf(RoomType.class), EnumSet.allOf(BookingStatus.class));
+    }
+
+    /**
+     * Total of a metric over a date range (inclusive) for the given room types and statuses.
+     */
+    public synchronized double getTotal(RevenueMetric metric, LocalDate from, LocalDate to,
+                                        Collection<RoomType> types, Collection<BookingStatus> statuses) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        long cents = 0;
+        for (RoomType type : types) {
+            for (BookingStatus status : statuses) {
+                cents += trees[metric.ordinal()][cell(type, status)].sum(fromDay, toDay);
+            }
+        }
+        return cents / 100.0;
+    }
+
+    /**
+     * Totals of a metric over a date range (inclusive) per room type, for the given statuses.
+     */
+    public synchronized Map<RoomType, Double> getTotalsByRoomType(RevenueMetric metric, LocalDate from,
+                                                                  LocalDate to,
+                                                                  Collection<BookingStatus> statuses) {
+        Map<RoomType, Double> totals = new EnumMap<>(RoomType.class);
+        for (RoomType type : ROOM_TYPES) {
+            totals.put(type, getTotal(metric, from, to, EnumSet.of(type), statuses));
+        }
+        return totals;
+    }
+
+    /**
+     * Totals of a metric over a date range (inclusive) per booking status.
+     */
+    public synchronized Map<BookingStatus, Double> getTotalsByStatus(RevenueMetric metric, LocalDate from,
+                                                                     LocalDate to) {
+        Map<BookingStatus, Double> totals = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : STATUSES) {
+            totals.put(status, getTotal(metric, from, to, EnumSet.allOf(RoomType.class), EnumSet.of(status)));
+        }
+        return totals;
+    }
+
+    /**
+     * Discard all totals and recompute them from the repositories.
+     */
+    public synchronized void rebuild() {
+        for (DailyFenwickTree[] row : trees) {
+            for (DailyFenwickTree tree : row) {
+                tree.clear();
+            }
+        }
+        contributions.clear();
+        invoicesByBooking.clear();
+        roomTypes.clear();
+
+        roomRepository.forEach(room -> roomTypes.put(room.getRoomNumber(), room.getType()));
+        invoiceRepository.forEach(invoice -> invoicesByBooking.put(invoice.getBookingId(), invoice));
+        bookingRepository.forEach(this::update);
+    }
+
+    private synchronized void onBookingChanges(List<RepositoryEvent<Booking>> events) {
+        for (RepositoryEvent<Booking> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    update(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getBookingId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private synchronized void onInvoiceChanges(List<RepositoryEvent<Invoice>> events) {
+        for (RepositoryEvent<Invoice> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    invoicesByBooking.put(event.getEntity().getBookingId(), event.getEntity());
+                    bookingRepository.findById(event.getEntity().getBookingId()).ifPresent(this::update);
+                    break;
+                case DELETED:
+                    invoicesByBooking.remove(event.getEntity().getBookingId());
+                    bookingRepository.findById(event.getEntity().getBookingId()).ifPresent(this::update);
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private synchronized void onRoomChanges(List<RepositoryEvent<Room>> events) {
+        for (RepositoryEvent<Room> event : events) {
+            Room room = event.getEntity();
+            if (event.getType() == RepositoryEvent.Type.RELOADED
+                    || (event.getType() != RepositoryEvent.Type.DELETED
+                        && room.getType() != roomTypes.get(room.getRoomNumber()))) {
+                // Room types are rarely changed; recompute everything
+                rebuild();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Replace the contribution of a booking with its current amounts.
+     */
+    private void update(Booking booking) {
+        remove(booking.getBookingId());
+        RoomType type = roomTypes.get(booking.getRoomNumber());
+        if (type == null || booking.getStatus() == null || booking.getCheckInDate() == null) {
+            return;
+        }
+
+        long checkInDay = booking.getCheckInDate().toEpochDay();
+        int nights = booking.getCheckOutDate() == null ? 1
+                : (int) Math.max(1, ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate()));
+
+        long netCents;
+        long vatCents;
+        Invoice invoice = invoicesByBooking.get(booking.getBookingId());
+        if (invoice != null) {
+            netCents = FormatUtil.toCents(invoice.getSubtotal());
+            vatCents = FormatUtil.toCents(invoice.getVat());
+        } else {
+            long totalCents = FormatUtil.toCents(booking.getTotalCost());
+            netCents = FormatUtil.toCents(booking.getTotalCost()
+                    / (1 + settings.getVatRate(booking.getCheckInDate())));
+            vatCents = totalCents - netCents;
+        }
+        long refundCents = FormatUtil.toCents(booking.getRefundAmount());
+
+        Contribution contribution = new Contribution(cell(type, booking.getStatus()),
+                checkInDay, nights, netCents, vatCents, refundCents);
+        apply(contribution, 1);
+        contributions.put(booking.getBookingId(), contribution);
+    }
+
+    private void remove(String bookingId) {
+        Contribution previous = contributions.remove(bookingId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    private void apply(Contribution c, int sign) {
+        spread(trees[RevenueMetric.NET_REVENUE.ordinal()][c.cell], c.checkInDay, c.nights, sign * c.netCents);
+        spread(trees[RevenueMetric.VAT.ordinal()][c.cell], c.checkInDay, c.nights, sign * c.vatCents);
+        trees[RevenueMetric.REFUNDS.ordinal()][c.cell].add(c.checkInDay, sign * c.refundCents);
+    }
+
+    /**
+     * Split an amount evenly over consecutive days; leftover cents go to the first days.
+     */
+    private static void spread(DailyFenwickTree tree, long firstDay, int days, long cents) {
+        long perDay = cents / days;
+        long remainder = cents % days;
+        long step = Long.signum(remainder);
+        for (int i = 0; i < days; i++) {
+            long amount = perDay;
+            if (remainder != 0) {
+                amount += step;
+                remainder -= step;
+            }
+            tree.add(firstDay + i, amount);
+        }
+    }
+
+    private static int cell(RoomType type, BookingStatus status) {
+        return type.ordinal() * STATUSES.length + status.ordinal();
+    }
+
+    /**
+     * Amounts a booking has added to the trees.
+     */
+    private static final class Contribution {
+        final int cell;
+        final long checkInDay;
+        final int nights;
+        final long netCents;
+        final long vatCents;
+        final long refundCents;
+
+        Contribution(int cell, long checkInDay, int nights, long netCents, long vatCents, long refundCents) {
+            this.cell = cell;
+            this.checkInDay = checkInDay;
+            this.nights = nights;
+            this.netCents = netCents;
+            this.vatCents = vatCents;
+            this.refundCents = refundCents;
+        }
+    }
+}
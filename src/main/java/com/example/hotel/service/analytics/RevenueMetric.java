@@ -0,0 +1,28 @@
+package com.example.hotel.service.analytics;
+
+/**
+ * Amounts tracked by {@link RevenueAggregates}.
+ */
+public enum RevenueMetric {
+    /** Room revenue excluding VAT, spread evenly over the nights of a stay. */
+    NET_REVENUE("Net Revenue"),
+    /** VAT charged, spread evenly over the nights of a stay. */
+    VAT("VAT"),
+    /** Refunds issued, attributed to the check-in date of the cancelled stay. */
+    REFUNDS("Refunds");
+
+    private final String displayName;
+
+    RevenueMetric(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
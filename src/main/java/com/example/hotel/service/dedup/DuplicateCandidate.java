@@ -0,0 +1,51 @@
+package com.example.hotel.service.dedup;
+
+import com.example.hotel.model.Guest;
+
+/**
+ * A pair of guests that may be the same person.
+ * The first guest is the one that was created earlier and is kept on merge.
+ */
+public final class DuplicateCandidate {
+
+    private final Guest keep;
+    private final Guest duplicate;
+    private final double similarity;
+    private final String reason;
+
+    public DuplicateCandidate(Guest keep, Guest duplicate, double similarity, String reason) {
+        this.keep = keep;
+        this.duplicate = duplicate;
+        this.similarity = similarity;
+        this.reason = reason;
+    }
+
+    /** The guest to keep. */
+    public Guest getKeep() {
+        return keep;
+    }
+
+    /** The guest to merge into {@link #getKeep()}. */
+    public Guest getDuplicate() {
+        return duplicate;
+    }
+
+    /**
+     * Jaccard similarity (0 to 1) of the two guests' name, email and phone features.
+     */
+    public double getSimilarity() {
+        return similarity;
+    }
+
+    /**
+     * Why the pair was flagged, e.g. "Same phone" or "Similar details".
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s ~ %s (%.2f, %s)", keep.getId(), duplicate.getId(), similarity, reason);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.hotel.service.dedup;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Guest;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Finds guests that are probably the same person and merges them.
+ *
+ * Candidate pairs come from two sources, neither of which compares all pairs:
+ * <ul>
+ *   <li>blocking keys: guests sharing a normalized email, phone number or email
+ *       local part;</li>
+ *   <li>MinHash locality-sensitive hashing: each guest's shingle set (see
+ *       {@link GuestFeatures}) gets a {@value #NUM_HASHES}-value MinHash
+ *       signature, cut into {@value #BANDS} bands; guests sharing any band land
+ *       in the same bucket. Pairs with a Jaccard similarity of about 0.65 or more
+ *       are very likely to share a band.</li>
+ * </ul>
+ * Band buckets are formed by sorting packed (band hash, guest index) longs
+ * rather than through a hash map of lists. Every candidate is then scored with
+ * its exact Jaccard similarity. Buckets larger than {@value #MAX_BUCKET_SIZE}
+ * (values shared by many unrelated guests) are skipped to keep the work
+ * near-linear.
+ */
+public class GuestDeduplicationService {
+
+    private static final int NUM_HASHES = 96;
+    private static final int BANDS = 16;
+    private static final int ROWS = NUM_HASHES / BANDS;
+    private static final int MAX_BUCKET_SIZE = 100;
+
+    // Band entries pack the band hash above the guest index so buckets come out of one sort
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private static final String SIMILAR_DETAILS = "Similar details";
+
+    /** Minimum similarity for pairs found only through LSH. */
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private static final int[] SEEDS = new Random(0x5EED).ints(NUM_HASHES).toArray();
+
+    private final FileRepository<Guest, String> guestRepository;
+    private final FileRepository<Booking, String> bookingRepository;
+
+    public GuestDeduplicationService() {
+        this(RepositoryFactory.getInstance().getGuestRepository(),
+             RepositoryFactory.getInstance().getBookingRepository());
+    }
+
+    // Constructor for testing
+    public GuestDeduplicationService(FileRepository<Guest, String> guestRepository,
+                                     FileRepository<Booking, String> bookingRepository) {
+        this.guestRepository = guestRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Find likely duplicate pairs, most similar first.
+     */
+    public List<DuplicateCandidate> findDuplicates() {
+        List<Guest> guests = guestRepository.findAll();
+        int n = guests.size();
+        if (n > INDEX_MASK) {
+            throw new IllegalStateException("Too many guests to deduplicate: " + n);
+        }
+        GuestFeatures[] features = new GuestFeatures[n];
+        for (int i = 0; i < n; i++) {
+            features[i] = GuestFeatures.of(guests.get(i));
+        }
+
+        // Pair key (lower index, higher index) -> reason
+        Map<Long, String> pairs = new LinkedHashMap<>();
+        block(features, f -> f.email, "Same email", pairs);
+        block(features, f -> f.phone, "Same phone", pairs);
+        block(features, f -> f.emailLocalPart, "Same email name", pairs);
+
+        long[] entries = new long[n * BANDS];
+        int entryCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (features[i].shingles.length == 0) {
+                continue;
+            }
+            int[] signature = signature(features[i].shingles);
+            for (int band = 0; band < BANDS; band++) {
+                long key = band;
+                for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+                    key = key * 0x9E3779B97F4A7C15L + signature[r];
+                }
+                entries[entryCount++] = (key & ~INDEX_MASK) | i;
+            }
+        }
+        Arrays.sort(entries, 0, entryCount);
+        int[] bucket = new int[MAX_BUCKET_SIZE + 1];
+        for (int start = 0; start < entryCount; ) {
+            long key = entries[start] & ~INDEX_MASK;
+            int end = start;
+            while (end < entryCount && (entries[end] & ~INDEX_MASK) == key) {
+                end++;
+            }
+            if (end - start <= MAX_BUCKET_SIZE) {
+                for (int k = start; k < end; k++) {
+                    bucket[k - start] = (int) (entries[k] & INDEX_MASK);
+                }
+                addPairs(bucket, end - start, SIMILAR_DETAILS, pairs);
+            }
+            start = end;
+        }
+
+        List<DuplicateCandidate> candidates = new ArrayList<>();
+        for (Map.Entry<Long, String> pair : pairs.entrySet()) {
+            int a = (int) (pair.getKey() >>> 32);
+            int b = (int) (long) pair.getKey();
+            double similarity = GuestFeatures.jaccard(features[a].shingles, features[b].shingles);
+            boolean blocked = !SIMILAR_DETAILS.equals(pair.getValue());
+            if (blocked || similarity >= MIN_SIMILARITY) {
+                candidates.add(new DuplicateCandidate(guests.get(a), guests.get(b), similarity, pair.getValue()));
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidate::getSimilarity).reversed());
+        return candidates;
+    }
+
+    /**
+     * Merge duplicate guests into the guests to keep.
+     * All bookings of the duplicates are moved in one batched update, then the
+     * duplicates are deleted in one write.
+     * @param keepByDuplicateId guest ID to keep, keyed by the ID of the guest merged into it
+     * @return The number of bookings moved
+     */
+    public int merge(Map<String, String> keepByDuplicateId) {
+        Map<String, String> targets = resolve(keepByDuplicateId);
+        for (String keepId : targets.values()) {
+            if (!guestRepository.existsById(keepId)) {
+                throw new IllegalArgumentException("Guest " + keepId + " not found");
+            }
+        }
+
+        List<Booking> moved = new ArrayList<>();
+        bookingRepository.forEach(booking -> {
+            String keepId = targets.get(booking.getGuestId());
+            if (keepId != null) {
+                moved.add(booking);
+            }
+        });
+        for (Booking booking : moved) {
+            booking.setGuestId(targets.get(booking.getGuestId()));
+        }
+        bookingRepository.saveAll(moved);
+        guestRepository.deleteAll(targets.keySet());
+        return moved.size();
+    }
+
+    /**
+     * Merge the duplicate of each candidate into its kept guest.
+     * Overlapping pairs are merged transitively into one guest.
+     * @return The number of bookings moved
+     */
+    public int merge(Collection<DuplicateCandidate> candidates) {
+        Map<String, String> keepByDuplicateId = new LinkedHashMap<>();
+        for (DuplicateCandidate candidate : candidates) {
+            keepByDuplicateId.put(candidate.getDuplicate().getId(), candidate.getKeep().getId());
+        }
+        return merge(keepByDuplicateId);
+    }
+
+    /**
+     * Follow chains (A into B, B into C) so every duplicate maps to a guest that is kept.
+     */
+    private static Map<String, String> resolve(Map<String, String> keepByDuplicateId) {
+        Map<String, String> resolved = new LinkedHashMap<>();
+        for (String duplicateId : keepByDuplicateId.keySet()) {
+            String keepId = keepByDuplicateId.get(duplicateId);
+            int hops = 0;
+            while (keepByDuplicateId.containsKey(keepId)) {
+                keepId = keepByDuplicateId.get(keepId);
+                if (++hops > keepByDuplicateId.size()) {
+                    throw new IllegalArgumentException("Guest " + duplicateId + " is merged into itself");
+                }
+            }
+            if (keepId.equals(duplicateId)) {
+                throw new IllegalArgumentException("Guest " + duplicateId + " is merged into itself");
+            }
+            resolved.put(duplicateId, keepId);
+        }
+        return resolved;
+    }
+
+    private static int[] signature(int[] shingles) {
+        int[] signature = new int[NUM_HASHES];
+        for (int h = 0; h < NUM_HASHES; h++) {
+            int seed = SEEDS[h];
+            int min = Integer.MAX_VALUE;
+            for (int shingle : shingles) {
+                int value = mix(shingle ^ seed);
+                if (value < min) {
+                    min = value;
+                }
+            }
+            signature[h] = min;
+        }
+        return signature;
+    }
+
+    /**
+     * Integer finalizer from MurmurHash3.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static void block(GuestFeatures[] features, Function<GuestFeatures, String> key,
+                              String reason, Map<Long, String> pairs) {
+        Map<String, List<Integer>> blocks = new HashMap<>();
+        for (int i = 0; i < features.length; i++) {
+            String value = key.apply(features[i]);
+            if (value != null) {
+                blocks.computeIfAbsent(value, k -> new ArrayList<>(2)).add(i);
+            }
+        }
+        int[] members = new int[MAX_BUCKET_SIZE + 1];
+        for (List<Integer> block : blocks.values()) {
+            if (block.size() <= MAX_BUCKET_SIZE) {
+                for (int k = 0; k < block.size(); k++) {
+                    members[k] = block.get(k);
+                }
+                addPairs(members, block.size(), reason, pairs);
+            }
+        }
+    }
+
+    private static void addPairs(int[] members, int count, String reason, Map<Long, String> pairs) {
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                int a = Math.min(members[i], members[j]);
+                int b = Math.max(members[i], members[j]);
+                pairs.putIfAbsent(((long) a << 32) | b, reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.hotel.service.dedup;
+
+import com.example.hotel.model.Guest;
+import com.example.hotel.util.ValidationUtil;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Comparable features of a guest: blocking keys and a sorted set of hashed shingles.
+ *
+ * Shingles are character trigrams of the name (tokens sorted, so "Hoxha Ana"
+ * matches "Ana Hoxha") and of the email local part (dots and "+tags" removed),
+ * plus the whole normalized phone number and its last seven digits.
+ */
+final class GuestFeatures {
+
+    final String email;
+    final String emailLocalPart;
+    final String phone;
+    final int[] shingles;
+
+    private GuestFeatures(String email, String emailLocalPart, String phone, int[] shingles) {
+        this.email = email;
+        this.emailLocalPart = emailLocalPart;
+        this.phone = phone;
+        this.shingles = shingles;
+    }
+
+    static GuestFeatures of(Guest guest) {
+        String email = ValidationUtil.normalizeEmail(guest.getEmail());
+        String localPart = null;
+        if (email != null) {
+            int at = email.indexOf('@');
+            localPart = at < 0 ? email : email.substring(0, at);
+            int tag = localPart.indexOf('+');
+            if (tag >= 0) {
+                localPart = localPart.substring(0, tag);
+            }
+            localPart = localPart.replace(".", "");
+            if (localPart.isEmpty()) {
+                localPart = null;
+            }
+        }
+        String phone = ValidationUtil.normalizePhone(guest.getPhone());
+
+        int[] hashes = new int[64];
+        int count = 0;
+        String name = normalizeName(guest.getName());
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            hashes = ensure(hashes, count);
+            hashes[count++] = hash('n', name, i, i + 3);
+        }
+        if (localPart != null) {
+            String padded = " " + localPart + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                hashes = ensure(hashes, count);
+                hashes[count++] = hash('e', padded, i, i + 3);
+            }
+        }
+        if (phone != null) {
+            hashes = ensure(hashes, count + 1);
+            hashes[count++] = hash('p', phone, 0, phone.length());
+            if (phone.length() > 7) {
+                hashes[count++] = hash('s', phone, phone.length() - 7, phone.length());
+            }
+        }
+
+        int[] shingles = Arrays.copyOf(hashes, count);
+        Arrays.sort(shingles);
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[distinct - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return new GuestFeatures(email, localPart, phone, Arrays.copyOf(shingles, distinct));
+    }
+
+    /**
+     * Exact Jaccard similarity of two shingle sets.
+     */
+    static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * Lower-case letters and digits only, tokens sorted and padded with spaces.
+     */
+    private static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String[] tokens = name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        Arrays.sort(tokens);
+        StringBuilder sb = new StringBuilder(name.length() + 2).append(' ');
+        for (String token : tokens) {
+            if (!token.isEmpty()) {
+                sb.append(token).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int hash(char kind, String text, int from, int to) {
+        int h = kind;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h;
+    }
+
+    private static int[] ensure(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.hotel.service.export;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.enums.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable filter for exported rows: an optional check-in date range and an
+ * optional booking status. Each "with" method returns a new filter.
+ */
+public final class ExportFilter {
+
+    private static final ExportFilter ALL = new ExportFilter(null, null, null);
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final BookingStatus status;
+
+    private ExportFilter(LocalDate from, LocalDate to, BookingStatus status) {
+        this.from = from;
+        this.to = to;
+        this.status = status;
+    }
+
+    /**
+     * Returns a filter that accepts everything.
+     */
+    public static ExportFilter all() {
+        return ALL;
+    }
+
+    /**
+     * Restrict to bookings checking in between the given dates (both inclusive).
+     * Either bound may be null to leave that side open.
+     */
+    public ExportFilter withCheckInBetween(LocalDate from, LocalDate to) {
+        return new ExportFilter(from, to, status);
+    }
+
+    /**
+     * Restrict to bookings with the given status, or any status if null.
+     */
+    public ExportFilter withStatus(BookingStatus status) {
+        return new ExportFilter(from, to, status);
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Check whether this filter accepts everything, i.e. has no date range and no status.
+     */
+    public boolean isUnrestricted() {
+        return from == null && to == null && status == null;
+    }
+
+    /**
+     * Check whether a booking passes this filter.
+     */
+    public boolean accepts(Booking booking) {
+        if (status != null && booking.getStatus() != status) {
+            return false;
+        }
+        LocalDate checkIn = booking.getCheckInDate();
+        if (from != null && checkIn.isBefore(from)) {
+            return false;
+        }
+        return to == null || !checkIn.isAfter(to);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hotel.service.export;
+
+/**
+ * Output formats supported by the export subsystem.
+ */
+public enum ExportFormat {
+    CSV("CSV", "csv"),
+    JSON_LINES("JSON Lines", "jsonl");
+
+    private final String displayName;
+    private final String extension;
+
+    ExportFormat(String displayName, String extension) {
+        this.displayName = displayName;
+        this.extension = extension;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Pick the format matching a file name's extension, defaulting to CSV.
+     */
+    public static ExportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        return CSV;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
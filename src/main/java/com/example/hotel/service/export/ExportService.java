@@ -0,0 +1,217 @@
+package com.example.hotel.service.export;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Guest;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Service for exporting bookings and invoices for accounting.
+ * Rows are streamed straight from the repositories to the output as CSV or
+ * JSON Lines; the exported result is never collected in memory.
+ */
+public class ExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] BOOKING_COLUMNS = {
+        "bookingId", "guestId", "roomNumber", "checkInDate", "checkOutDate",
+        "nights", "status", "totalCost", "refundAmount"
+    };
+    private static final String[] INVOICE_COLUMNS = {
+        "invoiceId", "bookingId", "generatedAt", "subtotal", "vatRate",
+        "vat", "total", "refundAmount", "finalAmount"
+    };
+    private static final String[] JOINED_COLUMNS = {
+        "bookingId", "checkInDate", "checkOutDate", "nights", "status", "roomNumber",
+        "guestId", "guestName", "guestEmail", "guestPhone",
+        "invoiceId", "subtotal", "vat", "total", "refundAmount", "finalAmount"
+    };
+
+    private final FileRepository<Booking, String> bookingRepository;
+    private final FileRepository<Guest, String> guestRepository;
+    private final FileRepository<Invoice, String> invoiceRepository;
+
+    public ExportService() {
+        RepositoryFactory factory = RepositoryFactory.getInstance();
+        this.bookingRepository = factory.getBookingRepository();
+        this.guestRepository = factory.getGuestRepository();
+        this.invoiceRepository = factory.getInvoiceRepository();
+    }
+
+    // Constructor for testing
+    public ExportService(FileRepository<Booking, String> bookingRepository,
+                         FileRepository<Guest, String> guestRepository,
+                         FileRepository<Invoice, String> invoiceRepository) {
+        this.bookingRepository = bookingRepository;
+        this.guestRepository = guestRepository;
+        this.invoiceRepository = invoiceRepository;
+    }
+
+    /**
+     * Export bookings matching the filter.
+     * @return the number of rows written
+     */
+    public long exportBookings(ExportFilter filter, ExportFormat format, Writer out) throws IOException {
+        RowWriter rows = RowWriter.create(format, out, BOOKING_COLUMNS);
+        rows.writeHeader();
+        long[] count = {0};
+        forEachRow(bookingRepository, booking -> {
+            if (!filter.accepts(booking)) {
+                return;
+            }
+            rows.beginRow();
+            rows.text(booking.getBookingId())
+                .text(booking.getGuestId())
+                .text(booking.getRoomNumber())
+                .date(booking.getCheckInDate())
+                .date(booking.getCheckOutDate())
+                .number(booking.getNumberOfNights())
+                .text(booking.getStatus().name())
+                .amount(booking.getTotalCost())
+                .amount(booking.getRefundAmount());
+            rows.endRow();
+            count[0]++;
+        });
+        out.flush();
+        return count[0];
+    }
+
+    /**
+     * Export invoices whose booking matches the filter.
+     * Invoices whose booking no longer exists are only included by an unrestricted filter.
+     * @return the number of rows written
+     */
+    public long exportInvoices(ExportFilter filter, ExportFormat format, Writer out) throws IOException {
+        RowWriter rows = RowWriter.create(format, out, INVOICE_COLUMNS);
+        rows.writeHeader();
+        long[] count = {0};
+        forEachRow(invoiceRepository, invoice -> {
+            Booking booking = bookingRepository.findById(invoice.getBookingId()).orElse(null);
+            boolean accepted = booking != null ? filter.accepts(booking) : filter.isUnrestricted();
+            if (!accepted) {
+                return;
+            }
+            rows.beginRow();
+            rows.text(invoice.getInvoiceId())
+                .text(invoice.getBookingId())
+                .text(invoice.getGeneratedAt() != null ? invoice.getGeneratedAt().toString() : null)
+                .amount(invoice.getSubtotal())
+                .decimal(invoice.getVatRate())
+                .amount(invoice.getVat())
+                .amount(invoice.getTotal())
+                .amount(invoice.getRefundAmount())
+                .amount(invoice.getFinalAmount());
+            rows.endRow();
+            count[0]++;
+        });
+        out.flush();
+        return count[0];
+    }
+
+    /**
+     * Export one row per booking joined with its guest and invoice (if any).
+     * @return the number of rows written
+     */
+    public long exportBookingDetails(ExportFilter filter, ExportFormat format, Writer out) throws IOException {
+        // Bookings are looked up by ID, invoices by booking ID, so index the invoices once
+        Map<String, Invoice> invoicesByBooking = new HashMap<>();
+        invoiceRepository.forEach(invoice -> invoicesByBooking.putIfAbsent(invoice.getBookingId(), invoice));
+
+        RowWriter rows = RowWriter.create(format, out, JOINED_COLUMNS);
+        rows.writeHeader();
+        long[] count = {0};
+        forEachRow(bookingRepository, booking -> {
+            if (!filter.accepts(booking)) {
+                return;
+            }
+            Guest guest = guestRepository.findById(booking.getGuestId()).orElse(null);
+            Invoice invoice = invoicesByBooking.get(booking.getBookingId());
+
+            rows.beginRow();
+            rows.text(booking.getBookingId())
+                .date(booking.getCheckInDate())
+                .date(booking.getCheckOutDate())
+                .number(booking.getNumberOfNights())
+                .text(booking.getStatus().name())
+                .text(booking.getRoomNumber())
+                .text(booking.getGuestId())
+                .text(guest != null ? guest.getName() : null)
+                .text(guest != null ? guest.getEmail() : null)
+                .text(guest != null ? guest.getPhone() : null);
+            if (invoice != null) {
+                rows.text(invoice.getInvoiceId())
+                    .amount(invoice.getSubtotal())
+                    .amount(invoice.getVat())
+                    .amount(invoice.getTotal())
+                    .amount(invoice.getRefundAmount())
+                    .amount(invoice.getFinalAmount());
+            } else {
+                rows.text(null)
+                    .text(null)
+                    .text(null)
+                    .amount(booking.getTotalCost())
+                    .amount(booking.getRefundAmount())
+                    .amount(booking.getTotalCost() - booking.getRefundAmount());
+            }
+            rows.endRow();
+            count[0]++;
+        });
+        out.flush();
+        return count[0];
+    }
+
+    /**
+     * Open a buffered UTF-8 writer over a file channel, replacing any existing file.
+     */
+    public static Writer openWriter(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), WRITE_BUFFER_SIZE),
+            WRITE_BUFFER_SIZE);
+    }
+
+    /**
+     * Visit each entity, rethrowing write failures from inside the callback.
+     */
+    private <T> void forEachRow(FileRepository<T, String> repository, RowAction<T> action) throws IOException {
+        try {
+            repository.forEach(entity -> {
+                try {
+                    action.accept(entity);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Per-row callback that may fail with an IOException.
+     */
+    @FunctionalInterface
+    private interface RowAction<T> {
+        void accept(T entity) throws IOException;
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.hotel.service.export;
+
+import com.example.hotel.util.FormatUtil;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Writes export rows one at a time in CSV or JSON Lines format.
+ * Values are appended to one reusable buffer per row and flushed to the
+ * underlying Writer, so nothing accumulates across rows.
+ */
+abstract class RowWriter {
+
+    protected final Writer out;
+    protected final String[] columns;
+    protected final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+    private int column;
+
+    protected RowWriter(Writer out, String[] columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    /**
+     * Create a row writer for the given format.
+     */
+    static RowWriter create(ExportFormat format, Writer out, String... columns) {
+        return format == ExportFormat.JSON_LINES
+            ? new JsonLinesRowWriter(out, columns)
+            : new CsvRowWriter(out, columns);
+    }
+
+    /**
+     * Write anything that comes before the first row.
+     */
+    abstract void writeHeader() throws IOException;
+
+    /**
+     * Start a new row.
+     */
+    void beginRow() {
+        line.setLength(0);
+        column = 0;
+        beginLine();
+    }
+
+    /**
+     * Add a text value to the current row; null is written as empty.
+     */
+    RowWriter text(String value) {
+        separator(column++);
+        appendText(value);
+        return this;
+    }
+
+    /**
+     * Add a date value to the current row.
+     */
+    RowWriter date(LocalDate value) {
+        if (value == null) {
+            return text(null);
+        }
+        separator(column++);
+        appendDate(value);
+        return this;
+    }
+
+    /**
+     * Add a money amount to the current row, written with two decimals.
+     */
+    RowWriter amount(double value) {
+        separator(column++);
+        FormatUtil.appendFixed(line, FormatUtil.toCents(value), 2, false);
+        return this;
+    }
+
+    /**
+     * Add a decimal value to the current row at full precision, e.g. a rate.
+     */
+    RowWriter decimal(double value) {
+        separator(column++);
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Add a whole number to the current row.
+     */
+    RowWriter number(long value) {
+        separator(column++);
+        line.append(value);
+        return this;
+    }
+
+    /**
+     * Finish the current row and write it out.
+     */
+    void endRow() throws IOException {
+        endLine();
+        line.append('\n');
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+    }
+
+    protected abstract void beginLine();
+
+    protected abstract void separator(int columnIndex);
+
+    protected abstract void appendText(String value);
+
+    protected abstract void appendDate(LocalDate value);
+
+    protected abstract void endLine();
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    private static class CsvRowWriter extends RowWriter {
+
+        CsvRowWriter(Writer out, String[] columns) {
+            super(out, columns);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            beginRow();
+            for (String name : columns) {
+                text(name);
+            }
+            endRow();
+        }
+
+        @Override
+        protected void beginLine() {
+        }
+
+        @Override
+        protected void separator(int columnIndex) {
+            if (columnIndex > 0) {
+                line.append(',');
+            }
+        }
+
+        @Override
+        protected void appendText(String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        @Override
+        protected void appendDate(LocalDate value) {
+            FormatUtil.appendIsoDate(line, value);
+        }
+
+        @Override
+        protected void endLine() {
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by column name.
+     */
+    private static class JsonLinesRowWriter extends RowWriter {
+
+        JsonLinesRowWriter(Writer out, String[] columns) {
+            super(out, columns);
+        }
+
+        @Override
+        void writeHeader() {
+            // JSON Lines has no header; every object carries its keys
+        }
+
+        @Override
+        protected void beginLine() {
+            line.append('{');
+        }
+
+        @Override
+        protected void separator(int columnIndex) {
+            if (columnIndex > 0) {
+                line.append(',');
+            }
+            line.append('"').append(columns[columnIndex]).append("\":");
+        }
+
+        @Override
+        protected void appendText(String value) {
+            if (value == null) {
+                line.append("null");
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        line.append("\\\"");
+                        break;
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    case '\t':
+                        line.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            line.append("\\u00");
+                            line.append(Character.forDigit(c >> 4, 16));
+                            line.append(Character.forDigit(c & 0xF, 16));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+
+        @Override
+        protected void appendDate(LocalDate value) {
+            line.append('"');
+            FormatUtil.appendIsoDate(line, value);
+            line.append('"');
+        }
+
+        @Override
+        protected void endLine() {
+            line.append('}');
+        }
+    }
+}
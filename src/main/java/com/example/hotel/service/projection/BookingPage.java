@@ -0,0 +1,43 @@
+package com.example.hotel.service.projection;
+
+import java.util.List;
+
+/**
+ * One window of booking rows out of a filtered, sorted result.
+ */
+public final class BookingPage {
+
+    private final List<BookingRow> rows;
+    private final int offset;
+    private final int totalCount;
+    private final long version;
+
+    BookingPage(List<BookingRow> rows, int offset, int totalCount, long version) {
+        this.rows = rows;
+        this.offset = offset;
+        this.totalCount = totalCount;
+        this.version = version;
+    }
+
+    /** Rows of this page. */
+    public List<BookingRow> getRows() {
+        return rows;
+    }
+
+    /** Position of the first row within the whole result. */
+    public int getOffset() {
+        return offset;
+    }
+
+    /** Number of rows in the whole result. */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Projection version the page was read at; see {@link BookingRowProjection#getVersion()}.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hotel.service.projection;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.enums.BookingStatus;
+
+/**
+ * A booking joined with its guest and room, with every table cell already formatted.
+ * Rows are immutable; a change to the booking, guest or room produces a new row.
+ */
+public final class BookingRow {
+
+    private final Booking booking;
+    private final String guestName;
+    private final String roomType;
+    private final String checkIn;
+    private final String checkOut;
+    private final String total;
+    private final String refund;
+
+    BookingRow(Booking booking, String guestName, String roomType, String checkIn,
+               String checkOut, String total, String refund) {
+        this.booking = booking;
+        this.guestName = guestName;
+        this.roomType = roomType;
+        this.checkIn = checkIn;
+        this.checkOut = checkOut;
+        this.total = total;
+        this.refund = refund;
+    }
+
+    /** The booking this row was built from. */
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public String getBookingId() {
+        return booking.getBookingId();
+    }
+
+    public String getGuestName() {
+        return guestName;
+    }
+
+    public String getRoomNumber() {
+        return booking.getRoomNumber();
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public String getCheckIn() {
+        return checkIn;
+    }
+
+    public String getCheckOut() {
+        return checkOut;
+    }
+
+    public String getTotal() {
+        return total;
+    }
+
+    public BookingStatus getStatus() {
+        return booking.getStatus();
+    }
+
+    public String getRefund() {
+        return refund;
+    }
+}
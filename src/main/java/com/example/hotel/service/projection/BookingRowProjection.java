@@ -0,0 +1,287 @@
+package com.example.hotel.service.projection;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Guest;
+import com.example.hotel.model.Room;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.persistence.Settings;
+import com.example.hotel.util.DateUtil;
+import com.example.hotel.util.MoneyUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Booking list rows joined with guest names and room types.
+ *
+ * Guests and rooms are joined once through hash maps instead of a lookup per
+ * table cell. The projection follows the booking, guest and room repositories
+ * through their change listeners: a booking change rebuilds one row, a guest
+ * rename or room type change rebuilds only the rows that reference it, and a
+ * settings change (currency) reformats every row.
+ *
+ * Pages are cut from sorted indexes: the first request for a status filter and
+ * sort order sorts the matching rows once, and later pages of the same query are
+ * plain array slices until the next change discards the indexes.
+ */
+public final class BookingRowProjection {
+
+    private static final String UNKNOWN_GUEST = "Unknown";
+    private static final String NO_VALUE = "-";
+
+    private static volatile BookingRowProjection instance;
+
+    private final FileRepository<Booking, String> bookingRepository;
+    private final FileRepository<Guest, String> guestRepository;
+    private final FileRepository<Room, String> roomRepository;
+
+    // Rows in repository order, keyed by booking ID
+    private final Map<String, BookingRow> rows = new LinkedHashMap<>();
+    private final Map<String, String> guestNames = new HashMap<>();
+    private final Map<String, String> roomTypes = new HashMap<>();
+    private final Map<String, Set<String>> bookingIdsByGuest = new HashMap<>();
+    private final Map<String, Set<String>> bookingIdsByRoom = new HashMap<>();
+
+    // Sorted rows per query, discarded on every change
+    private final Map<String, BookingRow[]> sortedIndexes = new HashMap<>();
+    private long version;
+
+    private BookingRowProjection() {
+        this(RepositoryFactory.getInstance().getBookingRepository(),
+             RepositoryFactory.getInstance().getGuestRepository(),
+             RepositoryFactory.getInstance().getRoomRepository(),
+             Settings.getInstance());
+    }
+
+    // Constructor for testing
+    public BookingRowProjection(FileRepository<Booking, String> bookingRepository,
+                                FileRepository<Guest, String> guestRepository,
+                                FileRepository<Room, String> roomRepository,
+                                Settings settings) {
+        this.bookingRepository = bookingRepository;
+        this.guestRepository = guestRepository;
+        this.roomRepository = roomRepository;
+        rebuild();
+        bookingRepository.addListener(this::onBookingChanges);
+        guestRepository.addListener(this::onGuestChanges);
+        roomRepository.addListener(this::onRoomChanges);
+        settings.addChangeListener(snapshot -> reformat());
+    }
+
+    /**
+     * Returns the shared projection, built on first use.
+     */
+    public static BookingRowProjection getInstance() {
+        BookingRowProjection result = instance;
+        if (result == null) {
+            synchronized (BookingRowProjection.class) {
+                result = instance;
+                if (result == null) {
+                    result = new BookingRowProjection();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns one page of rows.
+     * @param status only rows with this status, or all rows if null
+     * @param sort order of the rows, or repository order if null
+     * @param descending reverse the sort order
+     * @param offset position of the first row to return
+     * @param limit maximum number of rows to return
+     */
+    public synchronized BookingPage getPage(BookingStatus status, BookingSort sort, boolean descending,
+                                            int offset, int limit) {
+        BookingRow[] index = sortedIndex(status, sort, descending);
+        int from = Math.min(Math.max(offset, 0), index.length);
+        int to = (int) Math.min((long) from + Math.max(limit, 0), index.length);
+        return new BookingPage(List.of(Arrays.copyOfRange(index, from, to)), from, index.length, version);
+    }
+
+    /**
+     * Returns a number that changes whenever any row changes.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the row of a booking, or null if there is none.
+     */
+    public synchronized BookingRow getRow(String bookingId) {
+        return rows.get(bookingId);
+    }
+
+    /**
+     * Discard all rows and join the repositories again.
+     */
+    public synchronized void rebuild() {
+        rows.clear();
+        guestNames.clear();
+        roomTypes.clear();
+        bookingIdsByGuest.clear();
+        bookingIdsByRoom.clear();
+
+        guestRepository.forEach(guest -> guestNames.put(guest.getId(), guest.getName()));
+        roomRepository.forEach(room -> roomTypes.put(room.getRoomNumber(), room.getType().getDisplayName()));
+        bookingRepository.forEach(this::put);
+        changed();
+    }
+
+    private synchronized void onBookingChanges(List<RepositoryEvent<Booking>> events) {
+        for (RepositoryEvent<Booking> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    put(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getBookingId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+        changed();
+    }
+
+    private synchronized void onGuestChanges(List<RepositoryEvent<Guest>> events) {
+        for (RepositoryEvent<Guest> event : events) {
+            Guest guest = event.getEntity();
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    guestNames.put(guest.getId(), guest.getName());
+                    refresh(bookingIdsByGuest.get(guest.getId()));
+                    break;
+                case DELETED:
+                    guestNames.remove(guest.getId());
+                    refresh(bookingIdsByGuest.get(guest.getId()));
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+        changed();
+    }
+
+    private synchronized void onRoomChanges(List<RepositoryEvent<Room>> events) {
+        for (RepositoryEvent<Room> event : events) {
+            Room room = event.getEntity();
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    roomTypes.put(room.getRoomNumber(), room.getType().getDisplayName());
+                    refresh(bookingIdsByRoom.get(room.getRoomNumber()));
+                    break;
+                case DELETED:
+                    roomTypes.remove(room.getRoomNumber());
+                    refresh(bookingIdsByRoom.get(room.getRoomNumber()));
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+        changed();
+    }
+
+    /**
+     * Rebuild every row so amounts pick up the current currency.
+     */
+    private synchronized void reformat() {
+        for (Map.Entry<String, BookingRow> entry : rows.entrySet()) {
+            entry.setValue(toRow(entry.getValue().getBooking()));
+        }
+        changed();
+    }
+
+    private void changed() {
+        version++;
+        sortedIndexes.clear();
+    }
+
+    private BookingRow[] sortedIndex(BookingStatus status, BookingSort sort, boolean descending) {
+        String key = status + ":" + sort + ":" + (sort != null && descending);
+        BookingRow[] index = sortedIndexes.get(key);
+        if (index == null) {
+            index = rows.values().stream()
+                    .filter(row -> status == null || row.getStatus() == status)
+                    .toArray(BookingRow[]::new);
+            if (sort != null) {
+                // Stable sort, so equal keys stay in repository order
+                Arrays.sort(index, descending ? sort.getComparator().reversed() : sort.getComparator());
+            }
+            sortedIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    private void refresh(Set<String> bookingIds) {
+        if (bookingIds == null) {
+            return;
+        }
+        for (String bookingId : bookingIds) {
+            BookingRow row = rows.get(bookingId);
+            if (row != null) {
+                rows.put(bookingId, toRow(row.getBooking()));
+            }
+        }
+    }
+
+    /**
+     * Write a booking's row, keeping its position if it already has one.
+     */
+    private void put(Booking booking) {
+        BookingRow previous = rows.put(booking.getBookingId(), toRow(booking));
+        if (previous != null) {
+            unlink(previous.getBooking());
+        }
+        bookingIdsByGuest.computeIfAbsent(booking.getGuestId(), k -> new LinkedHashSet<>())
+                .add(booking.getBookingId());
+        bookingIdsByRoom.computeIfAbsent(booking.getRoomNumber(), k -> new LinkedHashSet<>())
+                .add(booking.getBookingId());
+    }
+
+    private void remove(String bookingId) {
+        BookingRow previous = rows.remove(bookingId);
+        if (previous != null) {
+            unlink(previous.getBooking());
+        }
+    }
+
+    private void unlink(Booking booking) {
+        Set<String> byGuest = bookingIdsByGuest.get(booking.getGuestId());
+        if (byGuest != null && byGuest.remove(booking.getBookingId()) && byGuest.isEmpty()) {
+            bookingIdsByGuest.remove(booking.getGuestId());
+        }
+        Set<String> byRoom = bookingIdsByRoom.get(booking.getRoomNumber());
+        if (byRoom != null && byRoom.remove(booking.getBookingId()) && byRoom.isEmpty()) {
+            bookingIdsByRoom.remove(booking.getRoomNumber());
+        }
+    }
+
+    private BookingRow toRow(Booking booking) {
+        double refund = booking.getRefundAmount();
+        return new BookingRow(booking,
+                guestNames.getOrDefault(booking.getGuestId(), UNKNOWN_GUEST),
+                roomTypes.getOrDefault(booking.getRoomNumber(), NO_VALUE),
+                DateUtil.formatDateIso(booking.getCheckInDate()),
+                DateUtil.formatDateIso(booking.getCheckOutDate()),
+                MoneyUtil.formatCurrency(booking.getTotalCost()),
+                refund > 0 ? MoneyUtil.formatCurrency(refund) : NO_VALUE);
+    }
+}
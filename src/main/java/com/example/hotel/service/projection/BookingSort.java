@@ -0,0 +1,34 @@
+package com.example.hotel.service.projection;
+
+import java.util.Comparator;
+
+/**
+ * Orders in which booking rows can be paged.
+ */
+public enum BookingSort {
+    BOOKING_ID(Comparator.comparing(BookingRow::getBookingId, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    GUEST_NAME(Comparator.comparing(BookingRow::getGuestName,
+            Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))),
+    ROOM(Comparator.comparing(BookingRow::getRoomNumber, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    ROOM_TYPE(Comparator.comparing(BookingRow::getRoomType, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    CHECK_IN(Comparator.comparing(row -> row.getBooking().getCheckInDate(),
+            Comparator.nullsFirst(Comparator.naturalOrder()))),
+    CHECK_OUT(Comparator.comparing(row -> row.getBooking().getCheckOutDate(),
+            Comparator.nullsFirst(Comparator.naturalOrder()))),
+    TOTAL(Comparator.comparingDouble(row -> row.getBooking().getTotalCost())),
+    STATUS(Comparator.comparing(BookingRow::getStatus, Comparator.nullsFirst(Comparator.naturalOrder()))),
+    REFUND(Comparator.comparingDouble(row -> row.getBooking().getRefundAmount()));
+
+    private final Comparator<BookingRow> comparator;
+
+    BookingSort(Comparator<BookingRow> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Ascending order of rows by this key.
+     */
+    public Comparator<BookingRow> getComparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.hotel.service.search;
+
+import com.example.hotel.model.Guest;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+import com.example.hotel.service.analytics.GuestStats;
+import com.example.hotel.service.analytics.GuestStatsCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Prefix search over the words of guest names and emails, for type-ahead pickers.
+ *
+ * Every guest is indexed under the lower-case words of its name and email
+ * (the whole email as well as its parts) in a sorted map, so the guests having
+ * a word that starts with a prefix are one sub-map away. A query matches a guest
+ * when each of its words is a prefix of one of the guest's words. Only the best
+ * few matches are returned, most recently active guests first (see
+ * {@link GuestStatsCache}). The index follows the guest repository through its
+ * change listener.
+ */
+public final class GuestPrefixIndex {
+
+    /** Most recent stay first, then most stays, then name. */
+    private static final Comparator<Ranked> BEST_FIRST = Comparator
+            .comparing((Ranked r) -> r.stats.getLastStay(), Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(r -> r.stats.getStayCount(), Comparator.reverseOrder())
+            .thenComparing(r -> r.guest.getName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private static volatile GuestPrefixIndex instance;
+
+    private final FileRepository<Guest, String> guestRepository;
+    private final GuestStatsCache guestStats;
+
+    private final TreeMap<String, Set<String>> guestIdsByWord = new TreeMap<>();
+    private final Map<String, String[]> wordsByGuestId = new HashMap<>();
+    private final Map<String, Guest> guests = new HashMap<>();
+
+    private GuestPrefixIndex() {
+        this(RepositoryFactory.getInstance().getGuestRepository(), GuestStatsCache.getInstance());
+    }
+
+    // Constructor for testing
+    public GuestPrefixIndex(FileRepository<Guest, String> guestRepository, GuestStatsCache guestStats) {
+        this.guestRepository = guestRepository;
+        this.guestStats = guestStats;
+        rebuild();
+        guestRepository.addListener(this::onGuestChanges);
+    }
+
+    /**
+     * Returns the index over the shared guest repository, built on first use.
+     */
+    public static GuestPrefixIndex getInstance() {
+        GuestPrefixIndex result = instance;
+        if (result == null) {
+            synchronized (GuestPrefixIndex.class) {
+                result = instance;
+                if (result == null) {
+                    result = new GuestPrefixIndex();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The best matches for a query, most recently active guests first.
+     * An empty query matches every guest.
+     * @param limit maximum number of guests returned
+     */
+    public synchronized List<Guest> search(String query, int limit) {
+        String[] prefixes = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        if (prefixes.length == 1 && prefixes[0].isEmpty()) {
+            prefixes = new String[0];
+        }
+
+        Collection<String> candidates;
+        if (prefixes.length == 0) {
+            candidates = guests.keySet();
+        } else {
+            // The longest prefix matches the fewest words
+            String longest = prefixes[0];
+            for (String prefix : prefixes) {
+                if (prefix.length() > longest.length()) {
+                    longest = prefix;
+                }
+            }
+            candidates = new HashSet<>();
+            for (Set<String> ids : guestIdsByWord.subMap(longest, true, longest + Character.MAX_VALUE, false).values()) {
+                candidates.addAll(ids);
+            }
+        }
+
+        // Keep the best matches in a heap with the worst of them on top
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        for (String guestId : candidates) {
+            if (prefixes.length > 1 && !matchesAll(wordsByGuestId.get(guestId), prefixes)) {
+                continue;
+            }
+            best.add(new Ranked(guests.get(guestId), guestStats.get(guestId)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<Guest> results = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) {
+            results.add(r.guest);
+        }
+        return results;
+    }
+
+    /**
+     * Discard the index and rebuild it from the repository.
+     */
+    public synchronized void rebuild() {
+        guestIdsByWord.clear();
+        wordsByGuestId.clear();
+        guests.clear();
+        guestRepository.forEach(this::put);
+    }
+
+    private synchronized void onGuestChanges(List<RepositoryEvent<Guest>> events) {
+        for (RepositoryEvent<Guest> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    put(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private void put(Guest guest) {
+        remove(guest.getId());
+        String[] words = wordsOf(guest);
+        for (String word : words) {
+            guestIdsByWord.computeIfAbsent(word, w -> new HashSet<>(2)).add(guest.getId());
+        }
+        wordsByGuestId.put(guest.getId(), words);
+        guests.put(guest.getId(), guest);
+    }
+
+    private void remove(String guestId) {
+        String[] words = wordsByGuestId.remove(guestId);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            Set<String> ids = guestIdsByWord.get(word);
+            ids.remove(guestId);
+            if (ids.isEmpty()) {
+                guestIdsByWord.remove(word);
+            }
+        }
+        guests.remove(guestId);
+    }
+
+    private static boolean matchesAll(String[] words, String[] prefixes) {
+        for (String prefix : prefixes) {
+            boolean found = false;
+            for (String word : words) {
+                if (word.startsWith(prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indexed words of a guest: the space-separated words of the name and the
+     * email, plus their letter and digit runs, in lower case.
+     */
+    private static String[] wordsOf(Guest guest) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String text : new String[] {guest.getName(), guest.getEmail()}) {
+            if (text == null) {
+                continue;
+            }
+            for (String word : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+                for (String part : word.split("[^\\p{L}\\p{N}]+")) {
+                    if (!part.isEmpty()) {
+                        words.add(part);
+                    }
+                }
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /**
+     * A match with the figures it is ranked by.
+     */
+    private static final class Ranked {
+        final Guest guest;
+        final GuestStats stats;
+
+        Ranked(Guest guest, GuestStats stats) {
+            this.guest = guest;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hotel.service.search;
+
+import com.example.hotel.model.Guest;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring search over guest names, emails and phone numbers.
+ *
+ * Each guest is indexed once, as "name\0email\0phone" in lower case, in a
+ * {@link TrigramIndex}; terms of three or more characters only look at the
+ * guests sharing all of the term's trigrams. Shorter terms scan the
+ * pre-lowered texts. The index follows the guest repository through its
+ * change listener.
+ */
+public final class GuestSearchIndex {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private static volatile GuestSearchIndex instance;
+
+    private final FileRepository<Guest, String> guestRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private final Map<String, Integer> docsByGuestId = new HashMap<>();
+    private final List<Guest> guests = new ArrayList<>();
+    private int[] nameLengths = new int[64];
+
+    private GuestSearchIndex() {
+        this(RepositoryFactory.getInstance().getGuestRepository());
+    }
+
+    // Constructor for testing
+    public GuestSearchIndex(FileRepository<Guest, String> guestRepository) {
+        this.guestRepository = guestRepository;
+        rebuild();
+        guestRepository.addListener(this::onGuestChanges);
+    }
+
+    /**
+     * Returns the index over the shared guest repository, built on first use.
+     */
+    public static GuestSearchIndex getInstance() {
+        GuestSearchIndex result = instance;
+        if (result == null) {
+            synchronized (GuestSearchIndex.class) {
+                result = instance;
+                if (result == null) {
+                    result = new GuestSearchIndex();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Guests whose name contains the term, ignoring case.
+     */
+    public List<Guest> searchByName(String term) {
+        return search(term, true);
+    }
+
+    /**
+     * Guests whose name, email or phone contains the term, ignoring case.
+     */
+    public List<Guest> search(String term) {
+        return search(term, false);
+    }
+
+    /**
+     * Check whether a guest would be found by {@link #search(String)} with the term,
+     * without consulting the index.
+     */
+    public static boolean matches(Guest guest, String term) {
+        return textOf(guest).contains(term.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Discard the index and rebuild it from the repository.
+     */
+    public synchronized void rebuild() {
+        index.clear();
+        docsByGuestId.clear();
+        guests.clear();
+        guestRepository.forEach(this::put);
+    }
+
+    private synchronized List<Guest> search(String term, boolean nameOnly) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        List<Guest> results = new ArrayList<>();
+        if (needle.length() >= 3) {
+            for (int doc : index.candidates(needle)) {
+                if (matches(doc, needle, nameOnly)) {
+                    results.add(guests.get(doc));
+                }
+            }
+        } else {
+            for (int doc = 0; doc < guests.size(); doc++) {
+                if (guests.get(doc) != null && matches(doc, needle, nameOnly)) {
+                    results.add(guests.get(doc));
+                }
+            }
+        }
+        return results;
+    }
+
+    private boolean matches(int doc, String needle, boolean nameOnly) {
+        int at = index.text(doc).indexOf(needle);
+        return at >= 0 && (!nameOnly || at + needle.length() <= nameLengths[doc]);
+    }
+
+    private synchronized void onGuestChanges(List<RepositoryEvent<Guest>> events) {
+        for (RepositoryEvent<Guest> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    put(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getId());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private void put(Guest guest) {
+        Integer doc = docsByGuestId.get(guest.getId());
+        if (doc == null) {
+            doc = guests.size();
+            docsByGuestId.put(guest.getId(), doc);
+            guests.add(guest);
+            if (doc == nameLengths.length) {
+                nameLengths = Arrays.copyOf(nameLengths, doc * 2);
+            }
+        } else {
+            guests.set(doc, guest);
+        }
+        nameLengths[doc] = valueOf(guest.getName()).toLowerCase(Locale.ROOT).length();
+        index.put(doc, textOf(guest));
+    }
+
+    private void remove(String guestId) {
+        Integer doc = docsByGuestId.remove(guestId);
+        if (doc != null) {
+            index.remove(doc);
+            guests.set(doc, null);
+        }
+    }
+
+    /**
+     * Indexed text of a guest: lower-case name, email and phone, separated.
+     */
+    private static String textOf(Guest guest) {
+        return valueOf(guest.getName()).toLowerCase(Locale.ROOT)
+                + SEPARATOR + valueOf(guest.getEmail()).toLowerCase(Locale.ROOT)
+                + SEPARATOR + valueOf(guest.getPhone()).toLowerCase(Locale.ROOT);
+    }
+
+    private static String valueOf(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.hotel.service.search;
+
+import com.example.hotel.model.Room;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Case-insensitive substring search over room numbers.
+ *
+ * Room numbers are lower-cased once when indexed, in a {@link TrigramIndex};
+ * terms of three or more characters only look at the rooms sharing all of the
+ * term's trigrams. Shorter terms scan the pre-lowered room numbers. The index
+ * follows the room repository through its change listener.
+ */
+public final class RoomSearchIndex {
+
+    private static volatile RoomSearchIndex instance;
+
+    private final FileRepository<Room, String> roomRepository;
+    private final TrigramIndex index = new TrigramIndex();
+    private final Map<String, Integer> docsByRoomNumber = new HashMap<>();
+    private final List<Room> rooms = new ArrayList<>();
+
+    private RoomSearchIndex() {
+        this(RepositoryFactory.getInstance().getRoomRepository());
+    }
+
+    // Constructor for testing
+    public RoomSearchIndex(FileRepository<Room, String> roomRepository) {
+        this.roomRepository = roomRepository;
+        rebuild();
+        roomRepository.addListener(this::onRoomChanges);
+    }
+
+    /**
+     * Returns the index over the shared room repository, built on first use.
+     */
+    public static RoomSearchIndex getInstance() {
+        RoomSearchIndex result = instance;
+        if (result == null) {
+            synchronized (RoomSearchIndex.class) {
+                result = instance;
+                if (result == null) {
+                    result = new RoomSearchIndex();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rooms whose number contains the term, ignoring case.
+     */
+    public synchronized List<Room> search(String term) {
+        String needle = term.toLowerCase(Locale.ROOT);
+        List<Room> results = new ArrayList<>();
+        if (needle.length() >= 3) {
+            for (int doc : index.candidates(needle)) {
+                if (index.text(doc).contains(needle)) {
+                    results.add(rooms.get(doc));
+                }
+            }
+        } else {
+            for (int doc = 0; doc < rooms.size(); doc++) {
+                if (rooms.get(doc) != null && index.text(doc).contains(needle)) {
+                    results.add(rooms.get(doc));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Check whether a room would be found by {@link #search(String)} with the term,
+     * without consulting the index.
+     */
+    public static boolean matches(Room room, String term) {
+        return room.getRoomNumber().toLowerCase(Locale.ROOT).contains(term.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Discard the index and rebuild it from the repository.
+     */
+    public synchronized void rebuild() {
+        index.clear();
+        docsByRoomNumber.clear();
+        rooms.clear();
+        roomRepository.forEach(this::put);
+    }
+
+    private synchronized void onRoomChanges(List<RepositoryEvent<Room>> events) {
+        for (RepositoryEvent<Room> event : events) {
+            switch (event.getType()) {
+                case INSERTED:
+                case UPDATED:
+                    put(event.getEntity());
+                    break;
+                case DELETED:
+                    remove(event.getEntity().getRoomNumber());
+                    break;
+                case RELOADED:
+                    rebuild();
+                    return;
+            }
+        }
+    }
+
+    private void put(Room room) {
+        Integer doc = docsByRoomNumber.get(room.getRoomNumber());
+        if (doc == null) {
+            doc = rooms.size();
+            docsByRoomNumber.put(room.getRoomNumber(), doc);
+            rooms.add(room);
+            index.put(doc, room.getRoomNumber().toLowerCase(Locale.ROOT));
+        } else {
+            // The room number is the ID, so the indexed text is unchanged
+            rooms.set(doc, room);
+        }
+    }
+
+    private void remove(String roomNumber) {
+        Integer doc = docsByRoomNumber.remove(roomNumber);
+        if (doc != null) {
+            index.remove(doc);
+            rooms.set(doc, null);
+        }
+    }
+}
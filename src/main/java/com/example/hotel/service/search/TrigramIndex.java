@@ -0,0 +1,199 @@
+package com.example.hotel.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Inverted index from character trigrams to document numbers.
+ * Each document is a lower-case string; a substring query of three or more
+ * characters is answered by intersecting the posting lists of its trigrams,
+ * which yields every document that could contain it. Callers confirm the
+ * candidates against {@link #text(int)}.
+ */
+final class TrigramIndex {
+
+    // Open-addressing table from packed trigram to postings; keys are never removed
+    private long[] keys = new long[1024];
+    private Postings[] lists = new Postings[1024];
+    private int listCount;
+    private String[] texts = new String[64];
+
+    /**
+     * Index a document, replacing its previous text if any.
+     */
+    void put(int doc, String text) {
+        remove(doc);
+        if (doc >= texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(doc + 1, texts.length * 2));
+        }
+        texts[doc] = text;
+        for (long trigram : trigrams(text)) {
+            int slot = slot(trigram);
+            if (lists[slot] == null) {
+                keys[slot] = trigram;
+                lists[slot] = new Postings();
+                if (++listCount * 2 > keys.length) {
+                    resize();
+                    slot = slot(trigram);
+                }
+            }
+            lists[slot].add(doc);
+        }
+    }
+
+    /**
+     * Remove a document from the index.
+     */
+    void remove(int doc) {
+        if (doc >= texts.length || texts[doc] == null) {
+            return;
+        }
+        for (long trigram : trigrams(texts[doc])) {
+            Postings list = lists[slot(trigram)];
+            if (list != null) {
+                list.remove(doc);
+            }
+        }
+        texts[doc] = null;
+    }
+
+    void clear() {
+        keys = new long[1024];
+        lists = new Postings[1024];
+        listCount = 0;
+        texts = new String[64];
+    }
+
+    /**
+     * Returns the indexed text of a document, or null if it is not indexed.
+     */
+    String text(int doc) {
+        return doc < texts.length ? texts[doc] : null;
+    }
+
+    /**
+     * Returns, in ascending order, the documents containing every trigram of the
+     * term. The term must be lower-case and at least three characters long.
+     */
+    int[] candidates(String term) {
+        long[] grams = trigrams(term);
+        Postings[] matched = new Postings[grams.length];
+        int n = 0;
+        for (long trigram : grams) {
+            Postings list = lists[slot(trigram)];
+            if (list == null || list.size == 0) {
+                return new int[0];
+            }
+            matched[n++] = list;
+        }
+        Arrays.sort(matched, (a, b) -> Integer.compare(a.size, b.size));
+
+        // Start from the shortest list and keep only documents found in every other one
+        int[] result = Arrays.copyOf(matched[0].docs, matched[0].size);
+        int count = result.length;
+        for (int i = 1; i < matched.length && count > 0; i++) {
+            Postings list = matched[i];
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < count; j++) {
+                int pos = Arrays.binarySearch(list.docs, from, list.size, result[j]);
+                if (pos >= 0) {
+                    result[kept++] = result[j];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the slot holding a trigram, or the empty slot where it belongs.
+     */
+    private int slot(long trigram) {
+        int mask = keys.length - 1;
+        long mixed = trigram * 0x9E3779B97F4A7C15L;
+        int slot = (int) (mixed ^ (mixed >>> 32)) & mask;
+        while (lists[slot] != null && keys[slot] != trigram) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Postings[] oldLists = lists;
+        keys = new long[oldKeys.length * 2];
+        lists = new Postings[oldLists.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldLists[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                lists[slot] = oldLists[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, each packed into a long, in ascending order.
+     */
+    private static long[] trigrams(String text) {
+        int n = text.length() - 2;
+        if (n <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[n];
+        for (int i = 0; i < n; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 1;
+        for (int i = 1; i < n; i++) {
+            if (grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return distinct == n ? grams : Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Sorted, growable list of document numbers.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == 0 || docs[size - 1] < doc) {
+                // Documents are usually numbered in insertion order
+                if (size == docs.length) {
+                    docs = Arrays.copyOf(docs, size * 2);
+                }
+                docs[size++] = doc;
+                return;
+            }
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            System.arraycopy(docs, pos, docs, pos + 1, size - pos);
+            docs[pos] = doc;
+            size++;
+        }
+
+        boolean remove(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, size, doc);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
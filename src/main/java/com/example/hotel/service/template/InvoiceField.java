@@ -0,0 +1,142 @@
+package com.example.hotel.service.template;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.util.CurrencyConversion;
+import com.example.hotel.util.FormatUtil;
+
+/**
+ * Fields that can be placed in an invoice template as {{name}}.
+ * Each field appends its value straight into the output buffer.
+ */
+public enum InvoiceField {
+    INVOICE_ID("invoiceId") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            sb.append(invoice.getInvoiceId());
+        }
+    },
+    BOOKING_ID("bookingId") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            sb.append(invoice.getBookingId());
+        }
+    },
+    GENERATED_AT("generatedAt") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (invoice.getGeneratedAt() != null) {
+                FormatUtil.appendIsoDateTime(sb, invoice.getGeneratedAt());
+            }
+        }
+    },
+    ROOM("room") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (booking != null) {
+                sb.append(booking.getRoomNumber());
+            }
+        }
+    },
+    CHECK_IN("checkIn") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (booking != null) {
+                FormatUtil.appendIsoDate(sb, booking.getCheckInDate());
+            }
+        }
+    },
+    CHECK_OUT("checkOut") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (booking != null) {
+                FormatUtil.appendIsoDate(sb, booking.getCheckOutDate());
+            }
+        }
+    },
+    NIGHTS("nights") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (booking != null) {
+                sb.append(booking.getNumberOfNights());
+            }
+        }
+    },
+    STATUS("status") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            if (booking != null) {
+                sb.append(booking.getStatus().getDisplayName());
+            }
+        }
+    },
+    SUBTOTAL("subtotal") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            conversion.appendTo(sb, invoice.getSubtotal());
+        }
+    },
+    VAT_PERCENT("vatPercent") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            sb.append(Math.round(invoice.getVatRate() * 100));
+        }
+    },
+    VAT("vat") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            conversion.appendTo(sb, invoice.getVat());
+        }
+    },
+    TOTAL("total") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            conversion.appendTo(sb, invoice.getTotal());
+        }
+    },
+    REFUND("refund") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            conversion.appendTo(sb, invoice.getRefundAmount());
+        }
+    },
+    FINAL_AMOUNT("finalAmount") {
+        @Override
+        void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion) {
+            conversion.appendTo(sb, invoice.getFinalAmount());
+        }
+    };
+
+    private final String placeholder;
+
+    InvoiceField(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Get the name used between the braces in a template.
+     */
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    /**
+     * Append this field's value for the given invoice.
+     *
+     * @param booking the invoice's booking, or null if it no longer exists
+     */
+    abstract void append(StringBuilder sb, Invoice invoice, Booking booking, CurrencyConversion conversion);
+
+    /**
+     * Find a field by its placeholder name.
+     * @throws IllegalArgumentException if no field has that name
+     */
+    static InvoiceField fromPlaceholder(String name) {
+        for (InvoiceField field : values()) {
+            if (field.placeholder.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown invoice template field: " + name);
+    }
+}
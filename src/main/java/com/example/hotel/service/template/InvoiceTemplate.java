@@ -0,0 +1,221 @@
+package com.example.hotel.service.template;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.util.CurrencyConversion;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * An invoice layout compiled once into a flat list of literal text, field
+ * and section segments, then rendered any number of times.
+ *
+ * Layout syntax:
+ * <pre>
+ *   {{field}}                 value of an {@link InvoiceField}, e.g. {{total}}
+ *   {{#booking}}...{{/booking}} only rendered when the booking still exists
+ *   {{#refund}}...{{/refund}}   only rendered when a refund was issued
+ * </pre>
+ *
+ * A compiled template is immutable and can be shared between threads.
+ * Rendering uses a per-thread text buffer, so exporting many invoices to a
+ * Writer creates almost no garbage per invoice.
+ */
+public final class InvoiceTemplate {
+
+    /**
+     * The standard plain-text invoice layout.
+     */
+    public static final String DEFAULT_LAYOUT =
+        "========================================\n" +
+        "              INVOICE\n" +
+        "========================================\n" +
+        "Invoice #:    {{invoiceId}}\n" +
+        "Booking #:    {{bookingId}}\n" +
+        "Generated:    {{generatedAt}}\n" +
+        "----------------------------------------\n" +
+        "{{#booking}}" +
+        "Room:         {{room}}\n" +
+        "Check-in:     {{checkIn}}\n" +
+        "Check-out:    {{checkOut}}\n" +
+        "Nights:       {{nights}}\n" +
+        "Status:       {{status}}\n" +
+        "{{/booking}}" +
+        "----------------------------------------\n" +
+        "Subtotal:     {{subtotal}}\n" +
+        "VAT ({{vatPercent}}%):    {{vat}}\n" +
+        "Total:        {{total}}\n" +
+        "{{#refund}}" +
+        "----------------------------------------\n" +
+        "Refund:       {{refund}}\n" +
+        "Final Amount: {{finalAmount}}\n" +
+        "{{/refund}}" +
+        "========================================\n";
+
+    private static final InvoiceTemplate DEFAULT = compile(DEFAULT_LAYOUT);
+
+    private static final ThreadLocal<StringBuilder> TEXT_BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    private static final ThreadLocal<char[]> CHAR_BUFFER =
+        ThreadLocal.withInitial(() -> new char[1024]);
+
+    // Segment opcodes; sections store the index just past their end marker
+    private static final byte LITERAL = 0;
+    private static final byte FIELD = 1;
+    private static final byte BOOKING_SECTION = 2;
+    private static final byte REFUND_SECTION = 3;
+
+    private final byte[] opcodes;
+    private final Object[] operands;
+    private final int[] sectionEnds;
+
+    private InvoiceTemplate(byte[] opcodes, Object[] operands, int[] sectionEnds) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.sectionEnds = sectionEnds;
+    }
+
+    /**
+     * Returns the compiled standard layout.
+     */
+    public static InvoiceTemplate getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Parses a layout into a compiled template.
+     * @throws IllegalArgumentException if the layout has unknown fields or unbalanced sections
+     */
+    public static InvoiceTemplate compile(String layout) {
+        List<Byte> opcodes = new ArrayList<>();
+        List<Object> operands = new ArrayList<>();
+        List<Integer> sectionEnds = new ArrayList<>();
+        Deque<Integer> openSections = new ArrayDeque<>();
+        Deque<String> openNames = new ArrayDeque<>();
+
+        int pos = 0;
+        while (pos < layout.length()) {
+            int open = layout.indexOf("{{", pos);
+            if (open < 0) {
+                open = layout.length();
+            }
+            if (open > pos) {
+                opcodes.add(LITERAL);
+                operands.add(layout.substring(pos, open));
+                sectionEnds.add(-1);
+            }
+            if (open == layout.length()) {
+                break;
+            }
+
+            int close = layout.indexOf("}}", open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at position " + open);
+            }
+            String tag = layout.substring(open + 2, close).trim();
+
+            if (tag.startsWith("#")) {
+                String name = tag.substring(1);
+                byte opcode;
+                if (name.equals("booking")) {
+                    opcode = BOOKING_SECTION;
+                } else if (name.equals("refund")) {
+                    opcode = REFUND_SECTION;
+                } else {
+                    throw new IllegalArgumentException("Unknown invoice template section: " + name);
+                }
+                openSections.push(opcodes.size());
+                openNames.push(name);
+                opcodes.add(opcode);
+                operands.add(null);
+                sectionEnds.add(-1);
+            } else if (tag.startsWith("/")) {
+                String name = tag.substring(1);
+                if (openNames.isEmpty() || !openNames.peek().equals(name)) {
+                    throw new IllegalArgumentException("Unexpected end of section: " + name);
+                }
+                openNames.pop();
+                sectionEnds.set(openSections.pop(), opcodes.size());
+            } else {
+                opcodes.add(FIELD);
+                operands.add(InvoiceField.fromPlaceholder(tag));
+                sectionEnds.add(-1);
+            }
+            pos = close + 2;
+        }
+
+        if (!openNames.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section: " + openNames.peek());
+        }
+
+        byte[] opcodeArray = new byte[opcodes.size()];
+        int[] endArray = new int[opcodes.size()];
+        for (int i = 0; i < opcodeArray.length; i++) {
+            opcodeArray[i] = opcodes.get(i);
+            endArray[i] = sectionEnds.get(i);
+        }
+        return new InvoiceTemplate(opcodeArray, operands.toArray(), endArray);
+    }
+
+    /**
+     * Renders an invoice into a buffer.
+     *
+     * @param booking the invoice's booking, or null if it no longer exists
+     */
+    public StringBuilder render(StringBuilder sb, Invoice invoice, Booking booking,
+                                CurrencyConversion conversion) {
+        int i = 0;
+        while (i < opcodes.length) {
+            switch (opcodes[i]) {
+                case LITERAL:
+                    sb.append((String) operands[i]);
+                    i++;
+                    break;
+                case FIELD:
+                    ((InvoiceField) operands[i]).append(sb, invoice, booking, conversion);
+                    i++;
+                    break;
+                case BOOKING_SECTION:
+                    i = booking != null ? i + 1 : sectionEnds[i];
+                    break;
+                case REFUND_SECTION:
+                    i = invoice.getRefundAmount() > 0 ? i + 1 : sectionEnds[i];
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown segment type " + opcodes[i]);
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * Renders an invoice to a String.
+     */
+    public String render(Invoice invoice, Booking booking, CurrencyConversion conversion) {
+        return render(new StringBuilder(512), invoice, booking, conversion).toString();
+    }
+
+    /**
+     * Renders an invoice directly to a Writer, reusing this thread's buffers.
+     */
+    public void render(Writer writer, Invoice invoice, Booking booking,
+                       CurrencyConversion conversion) throws IOException {
+        StringBuilder sb = TEXT_BUFFER.get();
+        sb.setLength(0);
+        render(sb, invoice, booking, conversion);
+
+        int length = sb.length();
+        char[] chars = CHAR_BUFFER.get();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            CHAR_BUFFER.set(chars);
+        }
+        sb.getChars(0, length, chars, 0);
+        writer.write(chars, 0, length);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.hotel.util;
+
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs slow work (service calls, file I/O) off the JavaFX Application Thread.
+ *
+ * Work runs in a JavaFX {@link Task} on a shared pool of daemon threads and its
+ * result or failure is handed back on the FX thread. Every submission has a key;
+ * submitting again under the same key cancels the earlier task and drops its
+ * result, so only the latest request for, say, a table's contents updates the
+ * screen. Cancelling never interrupts a task that has started: work such as
+ * saving a file runs to the end and only its result is dropped, since an
+ * interrupted write could leave the file truncated. All methods must be called
+ * on the FX thread.
+ */
+public final class BackgroundTasks {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "background-task-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Latest task per key; only touched on the FX thread
+    private static final Map<String, Task<?>> CURRENT = new HashMap<>();
+
+    private BackgroundTasks() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Run work in the background, replacing any task running under the same key.
+     * @param key identifies what the work is for; a newer submission supersedes older ones
+     * @param work the work to run off the FX thread
+     * @param onSuccess receives the result on the FX thread
+     * @param onFailure receives the exception on the FX thread
+     * @return The submitted task
+     */
+    public static <T> Task<T> submit(String key, Callable<T> work,
+                                     Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        return submit(key, work, onSuccess, onFailure, null);
+    }
+
+    /**
+     * Run work in the background, replacing any task running under the same key,
+     * and show a busy indicator until the latest task for the key has finished.
+     * @param busyIndicator node made visible while the work runs; may be null
+     */
+    public static <T> Task<T> submit(String key, Callable<T> work,
+                                     Consumer<T> onSuccess, Consumer<Throwable> onFailure,
+                                     Node busyIndicator) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+
+        Task<?> previous = CURRENT.put(key, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        if (busyIndicator != null) {
+            busyIndicator.setVisible(true);
+        }
+
+        task.setOnSucceeded(e -> {
+            if (finish(key, task, busyIndicator)) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(e -> {
+            if (finish(key, task, busyIndicator)) {
+                onFailure.accept(task.getException());
+            }
+        });
+        task.setOnCancelled(e -> finish(key, task, busyIndicator));
+
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancel the task running under a key, if any; a task not yet started is
+     * skipped, and the result of one already running is dropped.
+     */
+    public static void cancel(String key) {
+        Task<?> task = CURRENT.get(key);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Forget a finished task and hide its indicator.
+     * @return true if the task was still the latest for its key
+     */
+    private static boolean finish(String key, Task<?> task, Node busyIndicator) {
+        if (CURRENT.get(key) != task) {
+            return false;
+        }
+        CURRENT.remove(key);
+        if (busyIndicator != null) {
+            busyIndicator.setVisible(false);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hotel.util;
+
+import com.example.hotel.model.Booking;
+
+import java.util.List;
+
+/**
+ * An exchange rate resolved once for a target currency.
+ * Resolve it before rendering a table or quote, then apply it to every
+ * amount without further rate lookups.
+ */
+public final class CurrencyConversion {
+
+    private final String currencyCode;
+    private final double rate;
+
+    /**
+     * Creates a conversion.
+     *
+     * @param currencyCode the target currency code
+     * @param rate         target units per unit of the hotel currency
+     */
+    public CurrencyConversion(String currencyCode, double rate) {
+        this.currencyCode = currencyCode;
+        this.rate = rate;
+    }
+
+    /**
+     * Returns a conversion that keeps amounts in the given currency.
+     */
+    public static CurrencyConversion identity(String currencyCode) {
+        return new CurrencyConversion(currencyCode, 1.0);
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * Convert an amount from the hotel currency.
+     */
+    public double convert(double amount) {
+        return amount * rate;
+    }
+
+    /**
+     * Convert an amount and format it with the target currency code.
+     */
+    public String format(double amount) {
+        return FormatUtil.formatCurrency(currencyCode, convert(amount));
+    }
+
+    /**
+     * Append a converted amount with the target currency code.
+     */
+    public StringBuilder appendTo(StringBuilder sb, double amount) {
+        return FormatUtil.appendCurrency(sb, currencyCode, FormatUtil.toCents(convert(amount)));
+    }
+
+    /**
+     * Convert many amounts in one pass.
+     *
+     * @return a new array of converted amounts
+     */
+    public double[] convertAll(double[] amounts) {
+        double[] converted = new double[amounts.length];
+        // Simple counted loop over primitives, which the JIT can vectorize
+        for (int i = 0; i < amounts.length; i++) {
+            converted[i] = amounts[i] * rate;
+        }
+        return converted;
+    }
+
+    /**
+     * Convert the total cost of every booking in one pass.
+     *
+     * @return converted totals, in the same order as the bookings
+     */
+    public double[] convertTotals(List<Booking> bookings) {
+        double[] totals = new double[bookings.size()];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = bookings.get(i).getTotalCost();
+        }
+        return convertAll(totals);
+    }
+
+    @Override
+    public String toString() {
+        return currencyCode + " x" + rate;
+    }
+}
@@ -32,7 +32,7 @@ public final class DateUtil {
         if (date == null) {
             return "";
         }
-        return date.format(DATE_DISPLAY_FORMATTER);
+        return FormatUtil.formatDisplayDate(date);
     }
 
     /**
@@ -42,7 +42,7 @@ public final class DateUtil {
         if (date == null) {
             return "";
         }
-        return date.format(DATE_FORMATTER);
+        return FormatUtil.formatIsoDate(date);
     }
 
     /**
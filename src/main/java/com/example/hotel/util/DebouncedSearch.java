@@ -0,0 +1,118 @@
+package com.example.hotel.util;
+
+import javafx.animation.PauseTransition;
+import javafx.scene.control.TextInputControl;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Type-ahead search for a text field.
+ *
+ * Every edit restarts a short pause; the term is only searched once typing
+ * stops. Searches run through {@link BackgroundTasks} under one key, so a newer
+ * term cancels a search still running for an older one. When the new term
+ * extends the term whose results are shown (the user typed more), the shown
+ * items are narrowed in the background instead of searching everything again.
+ * All methods must be called on the FX thread.
+ *
+ * @param <T> the type of item searched for
+ */
+public final class DebouncedSearch<T> {
+
+    /** Pause after the last edit before the term is searched. */
+    public static final Duration DELAY = Duration.millis(250);
+
+    private final String key;
+    private final Function<String, List<T>> search;
+    private final BiPredicate<T, String> matches;
+    private final Supplier<List<T>> shown;
+    private final BiConsumer<String, List<T>> onResults;
+    private final Consumer<Throwable> onFailure;
+    private final PauseTransition pause = new PauseTransition(DELAY);
+
+    private String pendingTerm = "";
+    // Term whose results were last handed out; empty for all items
+    private String shownTerm = "";
+
+    /**
+     * @param key background task key; must be unique per search box
+     * @param search finds the items for a term, or all items for an empty term; runs off the FX thread
+     * @param matches checks whether an item matches a term; runs off the FX thread. Null when
+     *                the results are truncated, so a longer term must always be searched again
+     * @param shown the items currently shown, used as the starting point when a term is extended
+     * @param onResults receives the term and its results on the FX thread
+     * @param onFailure receives the exception on the FX thread
+     */
+    public DebouncedSearch(String key, Function<String, List<T>> search, BiPredicate<T, String> matches,
+                           Supplier<List<T>> shown, BiConsumer<String, List<T>> onResults,
+                           Consumer<Throwable> onFailure) {
+        this.key = key;
+        this.search = search;
+        this.matches = matches;
+        this.shown = shown;
+        this.onResults = onResults;
+        this.onFailure = onFailure;
+        pause.setOnFinished(e -> run(pendingTerm, false));
+    }
+
+    /**
+     * Search as the user types in a field.
+     */
+    public void bind(TextInputControl field) {
+        field.textProperty().addListener((obs, oldVal, newVal) -> schedule(newVal));
+    }
+
+    /**
+     * Search for a term once no newer term has arrived for {@link #DELAY}.
+     */
+    public void schedule(String term) {
+        pendingTerm = ValidationUtil.clean(term);
+        pause.playFromStart();
+    }
+
+    /**
+     * Search for a term right away, without narrowing, even if its results are already shown.
+     */
+    public void searchNow(String term) {
+        pause.stop();
+        run(ValidationUtil.clean(term), true);
+    }
+
+    private void run(String term, boolean force) {
+        if (!force && term.equals(shownTerm)) {
+            // Back to what is shown; drop any search for a term typed since
+            BackgroundTasks.cancel(key);
+            return;
+        }
+
+        String needle = term.toLowerCase(Locale.ROOT);
+        boolean narrowing = !force && matches != null && !shownTerm.isEmpty()
+            && needle.contains(shownTerm.toLowerCase(Locale.ROOT));
+        List<T> base = narrowing ? new ArrayList<>(shown.get()) : null;
+        BackgroundTasks.submit(key,
+            () -> narrowing ? narrow(base, term) : search.apply(term),
+            results -> {
+                shownTerm = term;
+                onResults.accept(term, results);
+            },
+            onFailure);
+    }
+
+    private List<T> narrow(List<T> items, String term) {
+        List<T> results = new ArrayList<>();
+        for (T item : items) {
+            if (matches.test(item, term)) {
+                results.add(item);
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.hotel.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Low-allocation formatting of money amounts and dates.
+ *
+ * The append methods write straight into a caller-supplied StringBuilder, so a
+ * loop can reuse one buffer for many values. The format methods use a
+ * per-thread buffer and are safe to call from any thread, unlike the shared
+ * DecimalFormat/DateTimeFormatter-with-String.format combinations they replace.
+ */
+public final class FormatUtil {
+
+    private static final String[] MONTH_ABBREVIATIONS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun",
+        "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    private FormatUtil() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Convert an amount to whole cents, rounding half up.
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    /**
+     * Append a cents amount as "#,##0.00", e.g. 1234567 becomes "12,345.67".
+     */
+    public static StringBuilder appendAmount(StringBuilder sb, long cents) {
+        return appendFixed(sb, cents, 2, true);
+    }
+
+    /**
+     * Append a cents amount prefixed with a currency code, e.g. "EUR 12,345.67".
+     */
+    public static StringBuilder appendCurrency(StringBuilder sb, String currency, long cents) {
+        sb.append(currency).append(' ');
+        return appendAmount(sb, cents);
+    }
+
+    /**
+     * Append a fixed-point number.
+     *
+     * @param sb       the buffer to append to
+     * @param scaled   the value multiplied by 10^decimals, e.g. 1234 for 12.34 with 2 decimals
+     * @param decimals the number of digits after the decimal point
+     * @param grouping whether to separate thousands with commas
+     */
+    public static StringBuilder appendFixed(StringBuilder sb, long scaled, int decimals, boolean grouping) {
+        if (scaled < 0) {
+            sb.append('-');
+            // Long.MIN_VALUE has no positive counterpart; it is far beyond any real amount
+            scaled = scaled == Long.MIN_VALUE ? Long.MAX_VALUE : -scaled;
+        }
+
+        long divisor = 1;
+        for (int i = 0; i < decimals; i++) {
+            divisor *= 10;
+        }
+        long whole = scaled / divisor;
+        long fraction = scaled % divisor;
+
+        appendWhole(sb, whole, grouping);
+        if (decimals > 0) {
+            sb.append('.');
+            for (long d = divisor / 10; d > 0; d /= 10) {
+                sb.append((char) ('0' + (fraction / d) % 10));
+            }
+        }
+        return sb;
+    }
+
+    private static void appendWhole(StringBuilder sb, long whole, boolean grouping) {
+        if (!grouping || whole < 1000) {
+            sb.append(whole);
+            return;
+        }
+        appendWhole(sb, whole / 1000, true);
+        sb.append(',');
+        long group = whole % 1000;
+        if (group < 100) {
+            sb.append('0');
+        }
+        if (group < 10) {
+            sb.append('0');
+        }
+        sb.append(group);
+    }
+
+    /**
+     * Append a date in ISO format (yyyy-MM-dd).
+     */
+    public static StringBuilder appendIsoDate(StringBuilder sb, LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            return sb.append(date);
+        }
+        appendPadded(sb, year, 4).append('-');
+        appendPadded(sb, date.getMonthValue(), 2).append('-');
+        return appendPadded(sb, date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Append a date and time as yyyy-MM-dd HH:mm.
+     */
+    public static StringBuilder appendIsoDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        appendIsoDate(sb, dateTime.toLocalDate()).append(' ');
+        appendPadded(sb, dateTime.getHour(), 2).append(':');
+        return appendPadded(sb, dateTime.getMinute(), 2);
+    }
+
+    /**
+     * Append a date in display format (MMM dd, yyyy), e.g. "Jan 05, 2026".
+     */
+    public static StringBuilder appendDisplayDate(StringBuilder sb, LocalDate date) {
+        sb.append(MONTH_ABBREVIATIONS[date.getMonthValue() - 1]).append(' ');
+        appendPadded(sb, date.getDayOfMonth(), 2).append(", ");
+        return sb.append(date.getYear());
+    }
+
+    private static StringBuilder appendPadded(StringBuilder sb, int value, int width) {
+        for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+
+    /**
+     * Format an amount with a currency code, e.g. "EUR 12,345.67".
+     */
+    public static String formatCurrency(String currency, double amount) {
+        StringBuilder sb = buffer();
+        return appendCurrency(sb, currency, toCents(amount)).toString();
+    }
+
+    /**
+     * Format an amount as "#,##0.00".
+     */
+    public static String formatAmount(double amount) {
+        StringBuilder sb = buffer();
+        return appendAmount(sb, toCents(amount)).toString();
+    }
+
+    /**
+     * Format a date in ISO format (yyyy-MM-dd).
+     */
+    public static String formatIsoDate(LocalDate date) {
+        return appendIsoDate(buffer(), date).toString();
+    }
+
+    /**
+     * Format a date in display format (MMM dd, yyyy).
+     */
+    public static String formatDisplayDate(LocalDate date) {
+        return appendDisplayDate(buffer(), date).toString();
+    }
+
+    /**
+     * Returns this thread's reusable buffer, emptied.
+     */
+    private static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        return sb;
+    }
+}
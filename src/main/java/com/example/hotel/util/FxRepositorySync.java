@@ -0,0 +1,139 @@
+package com.example.hotel.util;
+
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.persistence.RepositoryEvent;
+import com.example.hotel.persistence.RepositoryListener;
+import javafx.application.Platform;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Delivers repository change events to the JavaFX Application Thread and
+ * applies them to list models.
+ *
+ * Events are queued as the repository fires them, from any thread, and handed
+ * over in one batch per FX pulse: everything that arrives before the FX thread
+ * gets to the queue is delivered together.
+ */
+public final class FxRepositorySync {
+
+    private FxRepositorySync() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Deliver a repository's changes to a handler on the FX thread while a node is on screen.
+     * The listener is removed when the node's window is hidden or its scene is
+     * replaced, and added again when it is shown again, so a discarded view stops
+     * receiving events.
+     * @param owner node whose visibility decides whether changes are delivered
+     * @param handler receives each batch of events on the FX thread
+     */
+    public static <T> void attach(FileRepository<T, ?> repository, Node owner,
+                                  Consumer<List<RepositoryEvent<T>>> handler) {
+        PulseQueue<T> queue = new PulseQueue<>(handler);
+        ObservableValue<Boolean> shown = owner.sceneProperty()
+                .flatMap(Scene::windowProperty)
+                .flatMap(Window::showingProperty)
+                .orElse(false);
+        shown.addListener((obs, wasShown, isShown) -> {
+            if (isShown) {
+                repository.addListener(queue);
+            } else {
+                repository.removeListener(queue);
+            }
+        });
+        if (shown.getValue()) {
+            repository.addListener(queue);
+        }
+    }
+
+    /**
+     * Apply a batch of changes to a list, touching only the affected elements.
+     * Updated elements are replaced in place, elements the filter no longer
+     * accepts are removed and new accepted elements are appended.
+     * @param idOf the identity of an element
+     * @param filter elements the list should contain
+     * @return false if the repository was reloaded and the list must be loaded again
+     */
+    public static <T> boolean applyChanges(ObservableList<T> list, List<RepositoryEvent<T>> events,
+                                           Function<T, ?> idOf, Predicate<T> filter) {
+        // Latest state per ID; null means deleted
+        Map<Object, T> changes = new LinkedHashMap<>();
+        for (RepositoryEvent<T> event : events) {
+            if (event.getType() == RepositoryEvent.Type.RELOADED) {
+                return false;
+            }
+            T entity = event.getEntity();
+            changes.put(idOf.apply(entity), event.getType() == RepositoryEvent.Type.DELETED ? null : entity);
+        }
+
+        for (int i = list.size() - 1; i >= 0 && !changes.isEmpty(); i--) {
+            Object id = idOf.apply(list.get(i));
+            if (changes.containsKey(id)) {
+                T entity = changes.remove(id);
+                if (entity == null || !filter.test(entity)) {
+                    list.remove(i);
+                } else {
+                    // Set even if it is the same instance, so the row is redrawn
+                    list.set(i, entity);
+                }
+            }
+        }
+
+        List<T> added = new ArrayList<>();
+        for (T entity : changes.values()) {
+            if (entity != null && filter.test(entity)) {
+                added.add(entity);
+            }
+        }
+        list.addAll(added);
+        return true;
+    }
+
+    /**
+     * Collects events from the repository and drains them once per pulse on the FX thread.
+     */
+    private static final class PulseQueue<T> implements RepositoryListener<T> {
+        private final ConcurrentLinkedQueue<RepositoryEvent<T>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Consumer<List<RepositoryEvent<T>>> handler;
+
+        PulseQueue(Consumer<List<RepositoryEvent<T>>> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onChange(List<RepositoryEvent<T>> events) {
+            pending.addAll(events);
+            if (scheduled.compareAndSet(false, true)) {
+                Platform.runLater(this::drain);
+            }
+        }
+
+        private void drain() {
+            scheduled.set(false);
+            List<RepositoryEvent<T>> batch = new ArrayList<>();
+            RepositoryEvent<T> event;
+            while ((event = pending.poll()) != null) {
+                batch.add(event);
+            }
+            if (!batch.isEmpty()) {
+                handler.accept(batch);
+            }
+        }
+    }
+}
@@ -1,17 +1,17 @@
 package com.example.hotel.util;
 
+import com.example.hotel.persistence.ExchangeRateTable;
+import com.example.hotel.persistence.ExchangeRates;
 import com.example.hotel.persistence.Settings;
 
-import java.text.DecimalFormat;
+import java.util.List;
 
 /**
  * Utility class for money/currency operations.
+ * Formatting goes through {@link FormatUtil}, which is thread-safe.
  */
 public final class MoneyUtil {
 
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#,##0.00");
-    private static final DecimalFormat PERCENTAGE_FORMAT = new DecimalFormat("#0.0");
-
     private MoneyUtil() {
         // Utility class - prevent instantiation
     }
@@ -21,28 +21,72 @@ public final class MoneyUtil {
      */
     public static String formatCurrency(double amount) {
         String currency = Settings.getInstance().getCurrency();
-        return currency + " " + DECIMAL_FORMAT.format(amount);
+        return FormatUtil.formatCurrency(currency, amount);
     }
 
     /**
      * Format an amount with specific currency.
      */
     public static String formatCurrency(double amount, String currencyCode) {
-        return currencyCode + " " + DECIMAL_FORMAT.format(amount);
+        return FormatUtil.formatCurrency(currencyCode, amount);
+    }
+
+    /**
+     * Format an amount (in the hotel currency) converted to another currency.
+     */
+    public static String formatCurrency(double amount, CurrencyConversion conversion) {
+        return conversion.format(amount);
+    }
+
+    /**
+     * Resolve the conversion from the hotel currency to the given currency.
+     * Resolve once per screen or report and reuse it for every amount.
+     * @throws IllegalArgumentException if no rate is known for the currency
+     */
+    public static CurrencyConversion getConversion(String currencyCode) {
+        return ExchangeRates.getInstance().getTable()
+            .conversion(Settings.getInstance().getCurrency(), currencyCode);
+    }
+
+    /**
+     * Resolve the conversion to a currency picked for display, falling back to
+     * the hotel currency if it cannot be converted to (e.g. the rates were
+     * reloaded since the choice was offered).
+     */
+    public static CurrencyConversion getDisplayConversion(String currencyCode) {
+        if (currencyCode != null) {
+            try {
+                return getConversion(currencyCode);
+            } catch (IllegalArgumentException e) {
+                // Fall back to the hotel currency
+            }
+        }
+        return CurrencyConversion.identity(Settings.getInstance().getCurrency());
+    }
+
+    /**
+     * Currencies amounts can be shown in: every currency with a known rate, or
+     * only the hotel currency if it has no rate itself (nothing converts from it).
+     */
+    public static List<String> getDisplayCurrencies() {
+        String hotelCurrency = Settings.getInstance().getCurrency();
+        ExchangeRateTable rates = ExchangeRates.getInstance().getTable();
+        return rates.supports(hotelCurrency) ? rates.getCurrencies() : List.of(hotelCurrency);
     }
 
     /**
      * Format an amount without currency symbol.
      */
     public static String formatAmount(double amount) {
-        return DECIMAL_FORMAT.format(amount);
+        return FormatUtil.formatAmount(amount);
     }
 
     /**
      * Format a percentage.
      */
     public static String formatPercentage(double value) {
-        return PERCENTAGE_FORMAT.format(value * 100) + "%";
+        StringBuilder sb = new StringBuilder(8);
+        return FormatUtil.appendFixed(sb, Math.round(value * 1000), 1, false).append('%').toString();
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.example.hotel.util;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 /**
@@ -16,6 +17,9 @@ public final class ValidationUtil {
     private static final Pattern ROOM_NUMBER_PATTERN =
         Pattern.compile("^[A-Za-z0-9-]+$");
 
+    /** Country calling code assumed for phone numbers entered without one (Albania). */
+    public static final String DEFAULT_COUNTRY_CODE = "355";
+
     private ValidationUtil() {
         // Utility class - prevent instantiation
     }
@@ -159,6 +163,51 @@ public final class ValidationUtil {
         return phone.replaceAll("[\\s-]", "");
     }
 
+    /**
+     * Canonical form of an email address for lookups: trimmed and lower-case.
+     * Returns null for an empty address.
+     */
+    public static String normalizeEmail(String email) {
+        if (isEmpty(email)) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normalize a phone number to E.164 ("+" followed by digits) for lookups.
+     * Formatting characters are dropped; "00" is read as an international
+     * prefix, and a number without one (with or without the national trunk
+     * prefix 0) gets {@link #DEFAULT_COUNTRY_CODE}.
+     * Returns null if the number has no digits.
+     */
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String trimmed = phone.trim();
+        StringBuilder digits = new StringBuilder(16);
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() == 0) {
+            return null;
+        }
+        if (trimmed.charAt(0) == '+') {
+            return digits.insert(0, '+').toString();
+        }
+        if (digits.length() > 2 && digits.charAt(0) == '0' && digits.charAt(1) == '0') {
+            return digits.replace(0, 2, "+").toString();
+        }
+        if (digits.charAt(0) == '0') {
+            digits.deleteCharAt(0);
+        }
+        return digits.insert(0, DEFAULT_COUNTRY_CODE).insert(0, '+').toString();
+    }
+
     /**
      * Result of a validation operation.
      */
@@ -0,0 +1,92 @@
+package com.example.hotel;
+
+import com.example.hotel.model.Booking;
+import com.example.hotel.model.Guest;
+import com.example.hotel.model.Invoice;
+import com.example.hotel.model.enums.BookingStatus;
+import com.example.hotel.persistence.FileRepository;
+import com.example.hotel.service.export.ExportFilter;
+import com.example.hotel.service.export.ExportFormat;
+import com.example.hotel.service.export.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportCliTest {
+
+    @TempDir
+    Path dataDir;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        FileRepository<Booking, String> bookings = new FileRepository<>(
+            dataDir.resolve("bookings.json"), Booking::getBookingId, Booking.class);
+        FileRepository<Guest, String> guests = new FileRepository<>(
+            dataDir.resolve("guests.json"), Guest::getId, Guest.class);
+        FileRepository<Invoice, String> invoices = new FileRepository<>(
+            dataDir.resolve("invoices.json"), Invoice::getInvoiceId, Invoice.class);
+
+        LocalDate checkIn = LocalDate.of(2026, 3, 1);
+        bookings.save(new Booking("BK-1", "G-1", "101", checkIn, checkIn.plusDays(2),
+            BookingStatus.COMPLETED, 240.0));
+        invoices.save(new Invoice("INV-1", "BK-1", 200.0, 0.2, 40.0, 240.0));
+        // Its booking has been deleted since
+        invoices.save(new Invoice("INV-ORPHAN", "BK-GONE", 100.0, 0.2, 20.0, 120.0));
+
+        exportService = new ExportService(bookings, guests, invoices);
+    }
+
+    @Test
+    void noOptionsGiveAnUnrestrictedFilter() {
+        assertTrue(ExportCli.parseFilter(new String[] {"invoices", "out.csv"}).isUnrestricted());
+    }
+
+    @Test
+    void optionsRestrictTheFilter() {
+        assertFalse(ExportCli.parseFilter(
+            new String[] {"invoices", "out.csv", "--from", "2026-01-01"}).isUnrestricted());
+        assertFalse(ExportCli.parseFilter(
+            new String[] {"invoices", "out.csv", "--status", "completed"}).isUnrestricted());
+    }
+
+    @Test
+    void exportWithoutOptionsIncludesOrphanInvoices() throws Exception {
+        ExportFilter filter = ExportCli.parseFilter(new String[] {"invoices", "out.csv"});
+        StringWriter out = new StringWriter();
+
+        long rows = exportService.exportInvoices(filter, ExportFormat.CSV, out);
+
+        assertEquals(2, rows);
+        assertTrue(out.toString().contains("INV-ORPHAN"));
+    }
+
+    @Test
+    void openDateRangeCountsAsUnrestricted() throws Exception {
+        ExportFilter filter = ExportFilter.all().withCheckInBetween(null, null);
+        StringWriter out = new StringWriter();
+
+        assertEquals(2, exportService.exportInvoices(filter, ExportFormat.CSV, out));
+    }
+
+    @Test
+    void restrictedExportSkipsOrphanInvoices() throws Exception {
+        ExportFilter filter = ExportCli.parseFilter(
+            new String[] {"invoices", "out.csv", "--from", "2026-01-01"});
+        StringWriter out = new StringWriter();
+
+        long rows = exportService.exportInvoices(filter, ExportFormat.CSV, out);
+
+        assertEquals(1, rows);
+        assertFalse(out.toString().contains("INV-ORPHAN"));
+    }
+}